@@ -15,37 +15,19 @@
  *
  */
 
-package examples.table;
-
-import java.util.ArrayList;
-import java.util.List;
-import javax.swing.table.DefaultTableModel;
-
-public class ExampleTableModel extends DefaultTableModel {
-  private List<String> records = new ArrayList<>();
-
-  @Override
-  public int getRowCount() {
-    return records != null ? records.size() : 0;
-  }
 
-  @Override
-  public int getColumnCount() {
-    return 1;
-  }
+package examples.table;
 
-  @Override
-  public String getColumnName(int column) {
-    return "Value";
-  }
+import net.sds.mvvm.collections.ObservableCollectionFactory;
+import net.sds.mvvm.collections.ObservableTableModel;
 
-  @Override
-  public Object getValueAt(int row, int column) {
-    return records.get(row);
+public class ExampleTableModel extends ObservableTableModel<String> {
+  public ExampleTableModel() {
+    super(ObservableCollectionFactory.createCollection());
+    addColumn("Value", String.class, s -> s);
   }
 
   public void add(String s) {
-    records.add(s);
-    fireTableRowsInserted(records.size() - 1, records.size() - 1);
+    getCollection().add(s);
   }
 }
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2020 Serge de Schaetzen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package net.sds.mvvm.bindings;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Compiles fields and methods into accessors that can be invoked without going through
+ * Method.invoke or Field.get/set.
+ * Public methods of public classes are turned into a lambda using the LambdaMetafactory, so the JIT can
+ * inline the call. Fields and other methods are invoked through a MethodHandle.
+ * Compiled accessors do not depend on an owner instance and are cached per declaring class.
+ *
+ * Runtime exceptions thrown by the accessed method are passed on as is, other failures are wrapped
+ * in a BindingValueException.
+ */
+final class AccessorCompiler {
+  private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+  private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+  private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+  private static final ClassValue<Map<Member, Function<Object, Object>>> GETTERS = new ClassValue<Map<Member, Function<Object, Object>>>() {
+    @Override
+    protected Map<Member, Function<Object, Object>> computeValue(Class<?> type) {
+      return new ConcurrentHashMap<>();
+    }
+  };
+
+  private static final ClassValue<Map<Member, BiConsumer<Object, Object>>> SETTERS = new ClassValue<Map<Member, BiConsumer<Object, Object>>>() {
+    @Override
+    protected Map<Member, BiConsumer<Object, Object>> computeValue(Class<?> type) {
+      return new ConcurrentHashMap<>();
+    }
+  };
+
+  private AccessorCompiler() {
+  }
+
+  /**
+   * Returns a function that invokes the given (0 parameter) method on the object it is applied to.
+   * @param method The method.
+   * @return The getter.
+   */
+  static Function<Object, Object> compileGetter(Method method) throws BindingException {
+    Map<Member, Function<Object, Object>> cache = GETTERS.get(method.getDeclaringClass());
+    Function<Object, Object> getter = cache.get(method);
+    if (getter == null) {
+      MethodHandle handle = unreflect(method);
+      getter = canSpin(method) ? spinGetter(handle) : null;
+      if (getter == null) {
+        getter = handleGetter(handle.asType(GETTER_TYPE), method.getName());
+      }
+      cache.putIfAbsent(method, getter);
+    }
+    return getter;
+  }
+
+  /**
+   * Returns a function that returns the value of the given field of the object it is applied to.
+   * @param field The field.
+   * @return The getter.
+   */
+  static Function<Object, Object> compileGetter(Field field) throws BindingException {
+    Map<Member, Function<Object, Object>> cache = GETTERS.get(field.getDeclaringClass());
+    Function<Object, Object> getter = cache.get(field);
+    if (getter == null) {
+      try {
+        makeAccessible(field);
+        getter = handleGetter(LOOKUP.unreflectGetter(field).asType(GETTER_TYPE), field.getName());
+      } catch (IllegalAccessException e) {
+        throw new BindingException(String.format("Could not access field %s of class %s!", field.getName(), field.getDeclaringClass().getName()), e);
+      }
+      cache.putIfAbsent(field, getter);
+    }
+    return getter;
+  }
+
+  /**
+   * Returns a consumer that invokes the given (1 parameter) method on the object it is passed, using
+   * the value as argument.
+   * @param method The method.
+   * @return The setter.
+   */
+  static BiConsumer<Object, Object> compileSetter(Method method) throws BindingException {
+    Map<Member, BiConsumer<Object, Object>> cache = SETTERS.get(method.getDeclaringClass());
+    BiConsumer<Object, Object> setter = cache.get(method);
+    if (setter == null) {
+      MethodHandle handle = unreflect(method);
+      setter = canSpin(method) ? spinSetter(handle) : null;
+      if (setter == null) {
+        setter = handleSetter(handle.asType(SETTER_TYPE), method.getName());
+      }
+      cache.putIfAbsent(method, setter);
+    }
+    return setter;
+  }
+
+  /**
+   * Returns a consumer that assigns the value to the given field of the object it is passed.
+   * @param field The field.
+   * @return The setter.
+   */
+  static BiConsumer<Object, Object> compileSetter(Field field) throws BindingException {
+    Map<Member, BiConsumer<Object, Object>> cache = SETTERS.get(field.getDeclaringClass());
+    BiConsumer<Object, Object> setter = cache.get(field);
+    if (setter == null) {
+      try {
+        makeAccessible(field);
+        setter = handleSetter(LOOKUP.unreflectSetter(field).asType(SETTER_TYPE), field.getName());
+      } catch (IllegalAccessException e) {
+        throw new BindingException(String.format("Could not access field %s of class %s!", field.getName(), field.getDeclaringClass().getName()), e);
+      }
+      cache.putIfAbsent(field, setter);
+    }
+    return setter;
+  }
+
+  private static MethodHandle unreflect(Method method) throws BindingException {
+    try {
+      return LOOKUP.unreflect(method);
+    } catch (IllegalAccessException e) {
+      // eg. a public method declared in a non public class.
+      try {
+        makeAccessible(method);
+        return LOOKUP.unreflect(method);
+      } catch (IllegalAccessException | RuntimeException ex) {
+        throw new BindingException(String.format("Could not access method %s of class %s!", method.getName(), method.getDeclaringClass().getName()), ex);
+      }
+    }
+  }
+
+  private static void makeAccessible(Field field) {
+    if (!field.isAccessible()) {
+      field.setAccessible(true);
+    }
+  }
+
+  private static void makeAccessible(Method method) {
+    if (!method.isAccessible()) {
+      method.setAccessible(true);
+    }
+  }
+
+  /**
+   * Returns true if a lambda can be generated for the method: the generated class must be able to link
+   * against the method without any access checks being suppressed.
+   */
+  private static boolean canSpin(Method method) {
+    Class<?> cl = method.getDeclaringClass();
+    if (!Modifier.isPublic(method.getModifiers()) || !Modifier.isPublic(cl.getModifiers()) || Modifier.isStatic(method.getModifiers())) {
+      return false;
+    }
+    try {
+      return Class.forName(cl.getName(), false, AccessorCompiler.class.getClassLoader()) == cl;
+    } catch (ClassNotFoundException | LinkageError e) {
+      return false;
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Function<Object, Object> spinGetter(MethodHandle handle) {
+    if (handle.type().returnType() == void.class) {
+      return null;
+    }
+    try {
+      CallSite site = LambdaMetafactory.metafactory(LOOKUP, "apply", MethodType.methodType(Function.class),
+          GETTER_TYPE, handle, handle.type().wrap());
+      return (Function<Object, Object>) site.getTarget().invoke();
+    } catch (Throwable t) {
+      return null;
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static BiConsumer<Object, Object> spinSetter(MethodHandle handle) {
+    try {
+      CallSite site = LambdaMetafactory.metafactory(LOOKUP, "accept", MethodType.methodType(BiConsumer.class),
+          SETTER_TYPE, handle, handle.type().wrap().changeReturnType(void.class));
+      return (BiConsumer<Object, Object>) site.getTarget().invoke();
+    } catch (Throwable t) {
+      return null;
+    }
+  }
+
+  private static Function<Object, Object> handleGetter(MethodHandle handle, String name) {
+    return o -> {
+      try {
+        return handle.invokeExact(o);
+      } catch (RuntimeException | Error e) {
+        throw e;
+      } catch (Throwable t) {
+        throw new BindingValueException(String.format("Could not get the value of %s from %s!", name, o), t);
+      }
+    };
+  }
+
+  private static BiConsumer<Object, Object> handleSetter(MethodHandle handle, String name) {
+    return (o, v) -> {
+      try {
+        handle.invokeExact(o, v);
+      } catch (RuntimeException | Error e) {
+        throw e;
+      } catch (Throwable t) {
+        throw new BindingValueException(String.format("Could not set the value %s using %s!", v, name), t);
+      }
+    };
+  }
+}
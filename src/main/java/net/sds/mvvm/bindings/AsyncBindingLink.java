@@ -0,0 +1,105 @@
+/*
+ * Copyright 2020 Serge de Schaetzen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package net.sds.mvvm.bindings;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import javax.swing.SwingUtilities;
+
+/**
+ * A link that gets the value of the supplier using an executor, and passes it on to the consumer on the event
+ * dispatch thread.
+ * The latest application wins: when the link is applied again before the value was delivered, the pending
+ * computation is cancelled (and interrupted when running), and its value, if any, is dropped.
+ */
+class AsyncBindingLink extends BindingLink {
+  private final Executor executor;
+  private final Consumer<Runnable> delivery;
+  private final AtomicLong generation = new AtomicLong();
+  private volatile Future<?> pending;
+
+  /**
+   * @param supplier The supplier, called by the executor.
+   * @param consumer The consumer, called on the event dispatch thread.
+   * @param executor The executor.
+   * @param delivery Runs the delivery of the value to the consumer, e.g. with the events of the binding suppressed.
+   */
+  AsyncBindingLink(ValueSupplier supplier, ValueConsumer consumer, Executor executor, Consumer<Runnable> delivery) {
+    super(supplier, consumer);
+    this.executor = executor;
+    this.delivery = delivery;
+  }
+
+  @Override
+  void applyLink() {
+    long current = generation.incrementAndGet();
+    Future<?> previous = pending;
+    if (previous != null) {
+      previous.cancel(true);
+    }
+    FutureTask<Void> task = new FutureTask<>(() -> compute(current), null);
+    pending = task;
+    executor.execute(task);
+  }
+
+  private void compute(long current) {
+    if (isStale(current)) {
+      return;
+    }
+
+    Object value;
+    try {
+      value = getSupplier().get();
+    } catch (RuntimeException e) {
+      // Reported on the event dispatch thread, as a failing synchronous binding would be.
+      if (!isStale(current)) {
+        SwingUtilities.invokeLater(() -> {
+          throw e;
+        });
+      }
+      return;
+    }
+
+    if (!isStale(current)) {
+      SwingUtilities.invokeLater(() -> {
+        if (!isStale(current)) {
+          delivery.accept(() -> transfer(value));
+        }
+      });
+    }
+  }
+
+  /**
+   * Cancels the pending computation, if any, and drops its value.
+   */
+  void cancel() {
+    generation.incrementAndGet();
+    Future<?> previous = pending;
+    if (previous != null) {
+      previous.cancel(true);
+    }
+    pending = null;
+  }
+
+  private boolean isStale(long current) {
+    return generation.get() != current;
+  }
+}
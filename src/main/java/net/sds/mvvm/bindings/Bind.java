@@ -30,4 +30,17 @@ public @interface Bind {
   String value();
   String target();
   BindingType type() default BindingType.SOURCE_TO_TARGET;
+
+  /**
+   * When set, the binding is applied once it has not been triggered for this many milliseconds. For a
+   * BI_DIRECTIONAL binding, only the direction from the annotated field to the target is delayed (e.g. from a text
+   * field to the view model). The binding is initialized without delay.
+   */
+  int debounceMs() default 0;
+
+  /**
+   * When set, the binding is applied at most once per this many milliseconds. As for {@link #debounceMs()}, only one
+   * direction of a BI_DIRECTIONAL binding is delayed.
+   */
+  int throttleMs() default 0;
 }
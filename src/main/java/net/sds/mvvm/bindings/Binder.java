@@ -18,75 +18,103 @@
 package net.sds.mvvm.bindings;
 
 import static net.sds.mvvm.utils.ReflectionUtils.*;
-import java.lang.reflect.Field;
+import java.util.Optional;
 import net.sds.mvvm.triggers.TriggerFactory;
 
 public class Binder {
   private Binder() {
   }
 
-  public static void bind(Object source, Object target) throws BindingException {
-    for (Field f : getAllAnnotatedFields(source.getClass(), Bind.class)) {
-      Bind[] binds = f.getAnnotationsByType(Bind.class);
-      for (Bind bind : binds) {
-        if (!f.isAccessible()) {
-          f.setAccessible(true);
-        }
-        try {
-          Object o = resolvePath(f.get(source), bind.value().split("\\."));
-          Binding b;
-          if (bind.type().equals(BindingType.SOURCE_TO_TARGET)) {
-            b = createUniDirectionalBinding(o, bind.value(), target, bind.target());
-
-          } else if (bind.type().equals(BindingType.TARGET_TO_SOURCE)) {
-            b = createUniDirectionalBinding(target, bind.target(), o, bind.value());
+  private static final ClassValue<Optional<GeneratedBinder<Object>>> GENERATED = new ClassValue<Optional<GeneratedBinder<Object>>>() {
+    @Override
+    protected Optional<GeneratedBinder<Object>> computeValue(Class<?> type) {
+      return GeneratedBinder.find(type);
+    }
+  };
 
-          } else {
-            b = createBiDirectionalBinding(o, bind.value(), target, bind.target());
-          }
-          b.apply(Direction.UP);
+  /**
+   * Creates the bindings defined by the @Bind annotations of the source. If a binder was generated for the
+   * class of the source (see {@link net.sds.mvvm.processor.BindProcessor}), it is used. Otherwise the
+   * annotations are processed using reflection.
+   * @param source The object containing the annotated fields.
+   * @param target The object the target paths of the annotations refer to.
+   * @return The bindings created. Closing them unregisters all listeners, e.g. when the view is closed.
+   * @throws BindingException When a binding could not be created. The bindings created before are closed.
+   */
+  public static Disposable bind(Object source, Object target) throws BindingException {
+    BindingGroup bindings = new BindingGroup();
+    try {
+      Optional<GeneratedBinder<Object>> generated = GENERATED.get(source.getClass());
+      if (generated.isPresent()) {
+        generated.get().bind(source, target, bindings);
+        return bindings;
+      }
 
-        } catch (ReflectiveOperationException e) {
-          throw new BindingException("Could not create binding!", e);
-        }
+      for (BindingPlan.Entry entry : BindingPlan.of(source.getClass()).getEntries()) {
+        bindings.add(bind(entry.getFieldValue(source), entry.getSourcePath(), target, entry.getTargetPath(), entry.getType(),
+            entry.getDebounceMs(), entry.getThrottleMs()));
       }
+      return bindings;
+    } catch (BindingException | RuntimeException e) {
+      bindings.close();
+      throw e;
     }
   }
 
-  private static Binding createBiDirectionalBinding(Object source, String sourcePath, Object target, String targetPath) throws BindingException{
-    R r = new R(source, sourcePath, target, targetPath);
-    return new BindingBuilder<>()
-        .withSourceSupplier(ValueSupplierFactory.create(r.resolvedSource, r.resolvedSourcePath))
-        .withSourceConsumer(ValueConsumerFactory.create(r.resolvedSource, r.resolvedSourcePath))
-        .withSourceTrigger(TriggerFactory.create(r.resolvedSource, r.resolvedSourcePath))
-        .withTargetConsumer(ValueConsumerFactory.create(r.resolvedTarget, r.resolvedTargetPath))
-        .withTargetSupplier(ValueSupplierFactory.create(r.resolvedTarget, r.resolvedTargetPath))
-        .withTargetTrigger(TriggerFactory.create(r.resolvedTarget, r.resolvedTargetPath))
-        .build();
+  /**
+   * Creates and applies the binding for a single @Bind annotation.
+   * @param fieldValue The value of the annotated field.
+   * @param sourcePath The split value of the annotation.
+   * @param target The target passed to {@link #bind(Object, Object)}.
+   * @param targetPath The split target of the annotation.
+   * @param type The binding type.
+   * @param debounceMs The debounce delay of the annotation.
+   * @param throttleMs The throttle delay of the annotation.
+   * @return The binding.
+   */
+  static Binding bind(Object fieldValue, String[] sourcePath, Object target, String[] targetPath, BindingType type,
+      int debounceMs, int throttleMs) throws BindingException {
+    Object o = resolvePath(fieldValue, sourcePath);
+    Object t = resolvePath(target, targetPath);
+    String sourceName = sourcePath[sourcePath.length - 1];
+    String targetName = targetPath[targetPath.length - 1];
+    DefaultBinding b;
+    if (type.equals(BindingType.SOURCE_TO_TARGET)) {
+      b = createUniDirectionalBinding(o, sourceName, t, targetName, debounceMs, throttleMs);
+
+    } else if (type.equals(BindingType.TARGET_TO_SOURCE)) {
+      b = createUniDirectionalBinding(t, targetName, o, sourceName, debounceMs, throttleMs);
+
+    } else {
+      b = createBiDirectionalBinding(o, sourceName, t, targetName, debounceMs, throttleMs);
+    }
+    // Not delayed: the target shows the current value right away.
+    b.applyNow(Direction.UP);
+    return b;
   }
 
-  private static Binding createUniDirectionalBinding(Object source, String sourcePath, Object target, String targetPath) throws BindingException{
-    R r = new R(source, sourcePath, target, targetPath);
+  private static DefaultBinding createBiDirectionalBinding(Object source, String sourceName, Object target, String targetName,
+      int debounceMs, int throttleMs) throws BindingException{
     return new BindingBuilder<>()
-        .withSourceSupplier(ValueSupplierFactory.create(r.resolvedSource, r.resolvedSourcePath))
-        .withTargetConsumer(ValueConsumerFactory.create(r.resolvedTarget, r.resolvedTargetPath))
-        .withSourceTrigger(TriggerFactory.create(r.resolvedSource, r.resolvedSourcePath))
-        .build();
+        .withSourceSupplier(ValueSupplierFactory.create(source, sourceName))
+        .withSourceConsumer(ValueConsumerFactory.create(source, sourceName))
+        .withSourceTrigger(TriggerFactory.create(source, sourceName))
+        .withTargetConsumer(ValueConsumerFactory.create(target, targetName))
+        .withTargetSupplier(ValueSupplierFactory.create(target, targetName))
+        .withTargetTrigger(TriggerFactory.create(target, targetName))
+        .withDebounceMs(debounceMs)
+        .withThrottleMs(throttleMs)
+        .buildDefault();
   }
 
-
-  private static class R {
-    private Object resolvedSource;
-    private Object resolvedTarget;
-    private String resolvedSourcePath;
-    private String resolvedTargetPath;
-    private R(Object source, String sourcePath, Object target, String targetPath) throws BindingException {
-      String[] split = sourcePath.split("\\.");
-      resolvedSource = resolvePath(source, split);
-      resolvedSourcePath = split[split.length - 1];
-      split = targetPath.split("\\.");
-      resolvedTarget = resolvePath(target, split);
-      resolvedTargetPath = split[split.length - 1];
-    }
+  private static DefaultBinding createUniDirectionalBinding(Object source, String sourceName, Object target, String targetName,
+      int debounceMs, int throttleMs) throws BindingException{
+    return new BindingBuilder<>()
+        .withSourceSupplier(ValueSupplierFactory.create(source, sourceName))
+        .withTargetConsumer(ValueConsumerFactory.create(target, targetName))
+        .withSourceTrigger(TriggerFactory.create(source, sourceName))
+        .withDebounceMs(debounceMs)
+        .withThrottleMs(throttleMs)
+        .buildDefault();
   }
 }
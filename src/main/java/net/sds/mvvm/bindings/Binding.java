@@ -20,11 +20,18 @@ package net.sds.mvvm.bindings;
 /**
  * Defines a binding between a source and a target.
  */
-public interface Binding {
+public interface Binding extends Disposable {
   /**
    * Applies the binding using the given direction. If the direction is {@link Direction#UP} the binding is applied from
    * source to target. When the direction is {@link Direction#DOWN} the binding is applied from target to source.
    * @param direction
    */
   void apply(Direction direction);
+
+  /**
+   * Stops the binding: it is no longer applied, and its triggers are unregistered.
+   */
+  @Override
+  default void close() {
+  }
 }
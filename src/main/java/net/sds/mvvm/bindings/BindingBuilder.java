@@ -17,6 +17,8 @@
 
 package net.sds.mvvm.bindings;
 
+import java.util.concurrent.Executor;
+import net.sds.mvvm.utils.TimerWheel;
 import net.sds.mvvm.triggers.Trigger;
 
 /**
@@ -34,6 +36,12 @@ public class BindingBuilder<S, T> {
   private ValueConsumer targetConsumer;
   private Trigger sourceTrigger;
   private Trigger targetTrigger;
+  private SchedulingPolicy schedulingPolicy;
+  private int debounceMs;
+  private int throttleMs;
+  private TimerWheel timerWheel = TimerWheel.getDefault();
+  private Executor asyncSourceExecutor;
+  private ValueEquality valueEquality;
 
   /**
    * Assigns a trigger monitoring the source.
@@ -95,16 +103,97 @@ public class BindingBuilder<S, T> {
     return this;
   }
 
+  /**
+   * Assigns the scheduling policy of the binding. When not assigned, the default policy of the BindingScheduler
+   * is used.
+   * @param policy
+   * @return
+   */
+  public BindingBuilder<S, T> withSchedulingPolicy(SchedulingPolicy policy) {
+    this.schedulingPolicy = policy;
+    return this;
+  }
+
+  /**
+   * Debounces the binding: it is applied once it has not been triggered for the given delay, e.g. when typing pauses.
+   * The delay applies to the source to target direction only.
+   * @param debounceMs The delay in milliseconds, 0 to apply the binding immediately.
+   * @return
+   */
+  public BindingBuilder<S, T> withDebounceMs(int debounceMs) {
+    this.debounceMs = checkDelay(debounceMs);
+    return this;
+  }
+
+  /**
+   * Throttles the binding: it is applied at most once per the given delay.
+   * The delay applies to the source to target direction only.
+   * @param throttleMs The delay in milliseconds, 0 for no limit.
+   * @return
+   */
+  public BindingBuilder<S, T> withThrottleMs(int throttleMs) {
+    this.throttleMs = checkDelay(throttleMs);
+    return this;
+  }
+
+  /**
+   * Sets the wheel running the debounced and throttled applications, e.g. a wheel advanced by a test.
+   * @param wheel The wheel, the default wheel when not set.
+   * @return
+   */
+  BindingBuilder<S, T> withTimerWheel(TimerWheel wheel) {
+    this.timerWheel = wheel;
+    return this;
+  }
+
+  /**
+   * Gets the value of the source supplier using the given executor, e.g. when it is expensive to compute. The value is
+   * passed to the target consumer on the event dispatch thread. When the binding is applied again before the value was
+   * passed on, the pending computation is cancelled: only the latest value is passed on.
+   * @param executor The executor, e.g. a thread pool.
+   * @return
+   */
+  public BindingBuilder<S, T> withAsyncSource(Executor executor) {
+    this.asyncSourceExecutor = executor;
+    return this;
+  }
+
+  /**
+   * Skips the consumer when the value equals the value the binding transferred last, e.g. to avoid the revalidation
+   * and repaint of a component when its text is set to the same value. By default, values are always transferred.
+   * @param equality The equality, e.g. {@link ValueEquality#EQUALS}.
+   * @return
+   */
+  public BindingBuilder<S, T> withValueEquality(ValueEquality equality) {
+    this.valueEquality = equality;
+    return this;
+  }
+
   /**
    * Builds and returns the binding.
    * @return The binding.
    */
   public Binding build()  throws BindingException {
-    DefaultBinding binding = new DefaultBinding();
+    return buildDefault();
+  }
+
+  /**
+   * Builds the binding, see {@link #build()}.
+   * @return The binding.
+   */
+  DefaultBinding buildDefault() throws BindingException {
+    DefaultBinding binding = new DefaultBinding()
+        .withSchedulingPolicy(schedulingPolicy)
+        .withDelays(debounceMs, throttleMs, timerWheel);
 
 
     if (sourceSupplier != null && targetConsumer != null) {
-      createLink(binding, sourceSupplier, targetConsumer, Direction.UP);
+      if (asyncSourceExecutor != null) {
+        binding.withBindingLink(Direction.UP, new AsyncBindingLink(sourceSupplier, targetConsumer, asyncSourceExecutor, binding::deliver)
+            .withValueEquality(valueEquality));
+      } else {
+        createLink(binding, sourceSupplier, targetConsumer, Direction.UP);
+      }
     }
 
     if (targetSupplier != null && sourceConsumer != null) {
@@ -112,18 +201,25 @@ public class BindingBuilder<S, T> {
     }
 
     if (sourceTrigger != null) {
-      sourceTrigger.register(binding, Direction.UP);
+      binding.withTrigger(Direction.UP, sourceTrigger);
     }
 
     if (targetTrigger != null) {
-      targetTrigger.register(binding, Direction.DOWN);
+      binding.withTrigger(Direction.DOWN, targetTrigger);
     }
 
     return binding;
   }
 
+  private static int checkDelay(int ms) {
+    if (ms < 0) {
+      throw new IllegalArgumentException(String.format("Delay %d is negative!", ms));
+    }
+    return ms;
+  }
+
   private DefaultBinding createLink(DefaultBinding binding, ValueSupplier<T> supplier, ValueConsumer<T> consumer, Direction direction) {
-    BindingLink link = new BindingLink(supplier, consumer);
+    BindingLink link = new BindingLink(supplier, consumer).withValueEquality(valueEquality);
     return binding.withBindingLink(direction, link);
   }
 }
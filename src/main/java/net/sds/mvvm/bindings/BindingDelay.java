@@ -0,0 +1,81 @@
+/*
+ * Copyright 2020 Serge de Schaetzen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package net.sds.mvvm.bindings;
+
+import net.sds.mvvm.utils.TimerWheel;
+
+/**
+ * Delays the application of a binding in one direction.
+ * Debounce: the binding is applied once it has not been triggered for the debounce delay.
+ * Throttle: the binding is applied at most once per throttle delay. The first trigger applies it immediately, later
+ * ones within the delay are applied together when the delay has passed.
+ * When both are set, the binding is applied after a pause of the debounce delay, but not more than once per throttle
+ * delay.
+ */
+final class BindingDelay {
+  private final int debounceMillis;
+  private final int throttleMillis;
+  private final TimerWheel wheel;
+  private final Runnable action;
+  private final TimerWheel.Timeout timeout;
+  private boolean applied;
+  private long lastApplied;
+
+  /**
+   * @param debounceMillis The debounce delay, or 0.
+   * @param throttleMillis The throttle delay, or 0.
+   * @param wheel The wheel running the delayed applications.
+   * @param action Applies the binding.
+   */
+  BindingDelay(int debounceMillis, int throttleMillis, TimerWheel wheel, Runnable action) {
+    this.debounceMillis = debounceMillis;
+    this.throttleMillis = throttleMillis;
+    this.wheel = wheel;
+    this.action = action;
+    this.timeout = new TimerWheel.Timeout(this::run);
+  }
+
+  /**
+   * Called when the binding is triggered: applies the binding now, or (re)schedules it.
+   */
+  void trigger() {
+    long now = wheel.now();
+    long deadline = now + debounceMillis;
+    if (applied) {
+      deadline = Math.max(deadline, lastApplied + throttleMillis);
+    }
+    if (deadline <= now && !timeout.isPending()) {
+      run();
+    } else {
+      wheel.schedule(timeout, deadline);
+    }
+  }
+
+  /**
+   * Cancels the pending application, if any.
+   */
+  void cancel() {
+    wheel.cancel(timeout);
+  }
+
+  private void run() {
+    applied = true;
+    lastApplied = wheel.now();
+    action.run();
+  }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2020 Serge de Schaetzen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package net.sds.mvvm.bindings;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The bindings created by {@link Binder#bind(Object, Object)}. Closing the group closes all of them, so that the
+ * objects bound no longer refer to each other.
+ */
+public final class BindingGroup implements Disposable {
+  private final List<Binding> bindings = new ArrayList<>();
+
+  BindingGroup() {
+  }
+
+  void add(Binding binding) {
+    bindings.add(binding);
+  }
+
+  /**
+   * Returns the number of bindings in the group.
+   * @return The number of bindings.
+   */
+  public int size() {
+    return bindings.size();
+  }
+
+  /**
+   * Closes the bindings, in reverse order of creation.
+   */
+  @Override
+  public void close() {
+    for (int i = bindings.size() - 1; i >= 0; i--) {
+      bindings.get(i).close();
+    }
+    bindings.clear();
+  }
+}
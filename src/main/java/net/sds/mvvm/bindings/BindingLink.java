@@ -27,16 +27,89 @@ import java.util.function.Supplier;
 public class BindingLink {
   private ValueSupplier supplier;
   private ValueConsumer consumer;
+  private ValueEquality equality;
+  private boolean unboxed = true;
+  private boolean cached;
+  private Object lastValue;
+  private long lastBits;
 
   BindingLink(ValueSupplier supplier, ValueConsumer consumer) {
     this.supplier = supplier;
     this.consumer = consumer;
   }
 
+  /**
+   * Makes the link remember the value it transferred last, and skip the consumer when the next value is equal.
+   * @param equality The equality, or null to always transfer the value.
+   * @return This link.
+   */
+  BindingLink withValueEquality(ValueEquality equality) {
+    this.equality = equality;
+    // Comparing the bits of primitive values only matches these equalities.
+    this.unboxed = equality == null || equality == ValueEquality.IDENTITY || equality == ValueEquality.EQUALS;
+    invalidate();
+    return this;
+  }
+
+  /**
+   * Forgets the value transferred last, e.g. when the consumer's value was changed by other means, so that the next
+   * value is transferred.
+   */
+  void invalidate() {
+    cached = false;
+    lastValue = null;
+  }
+
   /**
    * Applies the link, transferring the value from the supplier to the consumer.
+   * Primitive values are transferred without boxing when both ends support it, unless the value equality needs the
+   * boxed values.
    */
   void applyLink() {
-    consumer.accept(supplier.get());
+    if (!unboxed) {
+      transfer(supplier.get());
+    } else if (supplier instanceof IntValueSupplier && consumer instanceof IntValueConsumer) {
+      int value = ((IntValueSupplier) supplier).getInt();
+      if (!isUnchanged(value))
+        ((IntValueConsumer) consumer).acceptInt(value);
+    } else if (supplier instanceof LongValueSupplier && consumer instanceof LongValueConsumer) {
+      long value = ((LongValueSupplier) supplier).getLong();
+      if (!isUnchanged(value))
+        ((LongValueConsumer) consumer).acceptLong(value);
+    } else if (supplier instanceof DoubleValueSupplier && consumer instanceof DoubleValueConsumer) {
+      double value = ((DoubleValueSupplier) supplier).getDouble();
+      if (!isUnchanged(Double.doubleToLongBits(value)))
+        ((DoubleValueConsumer) consumer).acceptDouble(value);
+    } else {
+      transfer(supplier.get());
+    }
+  }
+
+  /**
+   * Passes a value on to the consumer, unless it equals the value transferred last.
+   * @param value The value.
+   */
+  void transfer(Object value) {
+    if (equality != null) {
+      if (cached && equality.isEqual(value, lastValue))
+        return;
+      cached = true;
+      lastValue = value;
+    }
+    consumer.accept(value);
+  }
+
+  ValueSupplier getSupplier() {
+    return supplier;
+  }
+
+  private boolean isUnchanged(long bits) {
+    if (equality == null)
+      return false;
+    if (cached && lastBits == bits)
+      return true;
+    cached = true;
+    lastBits = bits;
+    return false;
   }
 }
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2020 Serge de Schaetzen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package net.sds.mvvm.bindings;
+
+import static net.sds.mvvm.utils.ReflectionUtils.getAllAnnotatedFields;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Immutable description of the {@link Bind} annotations of a class: the annotated fields (with a compiled getter),
+ * the parsed source and target paths and the binding type.
+ * Plans are computed once per class, so that repeated calls to {@link Binder#bind(Object, Object)} for the same class
+ * don't need to inspect the class again.
+ */
+final class BindingPlan {
+  private static final ClassValue<BindingPlan> PLANS = new ClassValue<BindingPlan>() {
+    @Override
+    protected BindingPlan computeValue(Class<?> type) {
+      return new BindingPlan(type);
+    }
+  };
+
+  private final List<Entry> entries;
+  private final BindingException failure;
+
+  private BindingPlan(Class<?> type) {
+    List<Entry> result = new ArrayList<>();
+    BindingException error = null;
+    try {
+      for (Field f : getAllAnnotatedFields(type, Bind.class)) {
+        Function<Object, Object> getter = AccessorCompiler.compileGetter(f);
+        for (Bind bind : f.getAnnotationsByType(Bind.class)) {
+          result.add(new Entry(getter, split(bind.value()), split(bind.target()), bind.type(), bind.debounceMs(), bind.throttleMs()));
+        }
+      }
+    } catch (BindingException e) {
+      error = e;
+    }
+    this.entries = Collections.unmodifiableList(result);
+    this.failure = error;
+  }
+
+  /**
+   * Returns the plan of the given class.
+   * @param type The class containing the @Bind annotations.
+   * @return The plan.
+   * @throws BindingException When the annotated fields can not be accessed.
+   */
+  static BindingPlan of(Class<?> type) throws BindingException {
+    BindingPlan plan = PLANS.get(type);
+    if (plan.failure != null) {
+      throw plan.failure;
+    }
+    return plan;
+  }
+
+  /**
+   * Returns the entries of the plan, one for each @Bind annotation.
+   * @return The entries.
+   */
+  List<Entry> getEntries() {
+    return entries;
+  }
+
+  private static String[] split(String path) {
+    return path.split("\\.");
+  }
+
+  /**
+   * A single @Bind annotation of a field.
+   */
+  static final class Entry {
+    private final Function<Object, Object> field;
+    private final String[] sourcePath;
+    private final String[] targetPath;
+    private final BindingType type;
+    private final int debounceMs;
+    private final int throttleMs;
+
+    private Entry(Function<Object, Object> field, String[] sourcePath, String[] targetPath, BindingType type,
+        int debounceMs, int throttleMs) {
+      this.field = field;
+      this.sourcePath = sourcePath;
+      this.targetPath = targetPath;
+      this.type = type;
+      this.debounceMs = debounceMs;
+      this.throttleMs = throttleMs;
+    }
+
+    /**
+     * Returns the value of the annotated field.
+     * @param owner The instance containing the field.
+     * @return The field value.
+     */
+    Object getFieldValue(Object owner) {
+      return field.apply(owner);
+    }
+
+    /**
+     * Returns the source path (the value of the annotation), split into its elements.
+     * @return The path. Callers should not modify the array.
+     */
+    String[] getSourcePath() {
+      return sourcePath;
+    }
+
+    /**
+     * Returns the target path, split into its elements.
+     * @return The path. Callers should not modify the array.
+     */
+    String[] getTargetPath() {
+      return targetPath;
+    }
+
+    BindingType getType() {
+      return type;
+    }
+
+    int getDebounceMs() {
+      return debounceMs;
+    }
+
+    int getThrottleMs() {
+      return throttleMs;
+    }
+  }
+}
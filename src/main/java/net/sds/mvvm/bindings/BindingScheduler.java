@@ -0,0 +1,97 @@
+/*
+ * Copyright 2020 Serge de Schaetzen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package net.sds.mvvm.bindings;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import javax.swing.SwingUtilities;
+import net.sds.mvvm.utils.PropagationScheduler;
+
+/**
+ * Applies the bindings using the PER_FRAME policy. Triggering such a binding only marks it dirty; the dirty bindings
+ * are applied together, once each, by a single task posted to the event dispatch thread.
+ * Bindings without a policy of their own use the default policy, which is IMMEDIATE unless changed.
+ */
+public final class BindingScheduler {
+  private static final Set<PropagationScheduler.Node> dirty = new LinkedHashSet<>();
+  private static volatile SchedulingPolicy defaultPolicy = SchedulingPolicy.IMMEDIATE;
+  private static boolean flushPosted;
+
+  private BindingScheduler() {}
+
+  /**
+   * Returns the policy used by bindings that have no policy of their own.
+   * @return The default policy.
+   */
+  public static SchedulingPolicy getDefaultPolicy() {
+    return defaultPolicy;
+  }
+
+  /**
+   * Sets the policy used by bindings that have no policy of their own.
+   * @param policy The default policy.
+   */
+  public static void setDefaultPolicy(SchedulingPolicy policy) {
+    defaultPolicy = policy;
+  }
+
+  /**
+   * Applies the dirty bindings now, instead of waiting for the task posted to the event dispatch thread.
+   * As the bindings update Swing components, it must be called on the event dispatch thread.
+   * @throws IllegalStateException When called on another thread.
+   */
+  public static void flush() {
+    if (!SwingUtilities.isEventDispatchThread()) {
+      throw new IllegalStateException("BindingScheduler.flush must be called on the event dispatch thread");
+    }
+    List<PropagationScheduler.Node> nodes;
+    synchronized (dirty) {
+      nodes = new ArrayList<>(dirty);
+      dirty.clear();
+      flushPosted = false;
+    }
+    if (nodes.isEmpty())
+      return;
+
+    // Applied as a single wave, so that they run in dependency order.
+    PropagationScheduler.begin();
+    try {
+      for (PropagationScheduler.Node node : nodes)
+        PropagationScheduler.schedule(node);
+    } finally {
+      PropagationScheduler.end();
+    }
+  }
+
+  /**
+   * Marks a binding dirty, and posts a flush to the event dispatch thread if none is pending.
+   * @param node The node applying the binding.
+   */
+  static void schedule(PropagationScheduler.Node node) {
+    synchronized (dirty) {
+      dirty.add(node);
+      if (flushPosted)
+        return;
+      flushPosted = true;
+    }
+    SwingUtilities.invokeLater(BindingScheduler::flush);
+  }
+}
@@ -17,9 +17,13 @@
 
 package net.sds.mvvm.bindings;
 
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Map;
+import net.sds.mvvm.triggers.Trigger;
 import net.sds.mvvm.utils.EventSuppressor;
+import net.sds.mvvm.utils.PropagationScheduler;
+import net.sds.mvvm.utils.TimerWheel;
 
 /**
  * Defines a default binding that manages the association of {@link BindingLink} with a {@link Direction}.
@@ -27,6 +31,14 @@ import net.sds.mvvm.utils.EventSuppressor;
 public class DefaultBinding implements Binding {
   private EventSuppressor suppressor = new EventSuppressor();
   private Map<Direction, BindingLink> links = new HashMap<>();
+  private Map<Direction, PropagationScheduler.Node> nodes = new EnumMap<>(Direction.class);
+  private Map<Direction, BindingDelay> delays = new EnumMap<>(Direction.class);
+  private Map<Direction, Trigger> triggers = new EnumMap<>(Direction.class);
+  private SchedulingPolicy policy;
+  private int debounceMillis;
+  private int throttleMillis;
+  private TimerWheel wheel = TimerWheel.getDefault();
+  private boolean closed;
 
   /**
    * Associates a BindingLink with a direction.
@@ -36,12 +48,135 @@ public class DefaultBinding implements Binding {
    */
   DefaultBinding withBindingLink(Direction direction, BindingLink link) {
     links.put(direction, link);
+    PropagationScheduler.Node node = new PropagationScheduler.Node(() -> applyLink(direction));
+    nodes.put(direction, node);
+    if (direction == Direction.UP && (debounceMillis > 0 || throttleMillis > 0)) {
+      delays.put(direction, new BindingDelay(debounceMillis, throttleMillis, wheel, () -> schedule(node)));
+    }
+    return this;
+  }
+
+  /**
+   * Sets the scheduling policy of this binding.
+   * @param policy The policy, or null to use the default policy of the BindingScheduler.
+   * @return This binding.
+   */
+  DefaultBinding withSchedulingPolicy(SchedulingPolicy policy) {
+    this.policy = policy;
+    return this;
+  }
+
+  /**
+   * Registers a trigger applying this binding, so that it is unregistered when the binding is closed.
+   * @param direction The direction the trigger applies.
+   * @param trigger The trigger.
+   * @return This binding.
+   */
+  DefaultBinding withTrigger(Direction direction, Trigger trigger) throws BindingException {
+    trigger.register(this, direction);
+    triggers.put(direction, trigger);
     return this;
   }
 
+  /**
+   * Sets the delays of this binding, applying to the source to target direction only. Must be called before the links
+   * are associated.
+   * @param debounceMillis The binding is applied once it has not been triggered for this delay, 0 for no delay.
+   * @param throttleMillis The binding is applied at most once per this delay, 0 for no limit.
+   * @param wheel The wheel running the delayed applications.
+   * @return This binding.
+   */
+  DefaultBinding withDelays(int debounceMillis, int throttleMillis, TimerWheel wheel) {
+    this.debounceMillis = debounceMillis;
+    this.throttleMillis = throttleMillis;
+    this.wheel = wheel;
+    return this;
+  }
+
+  /**
+   * Applies the binding without its delay, e.g. to initialize the target when the binding is created.
+   * @param direction The direction.
+   */
+  void applyNow(Direction direction) {
+    PropagationScheduler.Node node = nodes.get(direction);
+    if (closed || suppressor.isActive() || node == null) {
+      return;
+    }
+    BindingDelay delay = delays.get(direction);
+    if (delay != null) {
+      delay.cancel();
+    }
+    schedule(node);
+  }
+
+  /**
+   * Schedules the binding with the PropagationScheduler: when applied while a change is notified, the binding runs
+   * once the bindings it depends on have run. With the PER_FRAME policy, the binding is handed to the
+   * BindingScheduler instead. A debounced or throttled binding is scheduled when its delay has passed.
+   */
   @Override
   public void apply(Direction direction) {
-    if (suppressor.isActive()) {
+    if (closed || suppressor.isActive()) {
+      return;
+    }
+
+    PropagationScheduler.Node node = nodes.get(direction);
+    if (node == null) {
+      return;
+    }
+    BindingDelay delay = delays.get(direction);
+    if (delay != null) {
+      delay.trigger();
+    } else {
+      schedule(node);
+    }
+  }
+
+  private void schedule(PropagationScheduler.Node node) {
+    SchedulingPolicy p = policy != null ? policy : BindingScheduler.getDefaultPolicy();
+    if (p == SchedulingPolicy.PER_FRAME) {
+      BindingScheduler.schedule(node);
+    } else {
+      PropagationScheduler.schedule(node);
+    }
+  }
+
+  /**
+   * Runs the delivery of an asynchronously computed value, see {@link AsyncBindingLink}.
+   * @param delivery Passes the value to the consumer.
+   */
+  void deliver(Runnable delivery) {
+    if (closed) {
+      return;
+    }
+    try (EventSuppressor supp = suppressor.open()) {
+      delivery.run();
+    }
+  }
+
+  /**
+   * Unregisters the triggers, and drops the applications that are pending.
+   */
+  @Override
+  public void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    triggers.forEach((direction, trigger) -> trigger.unregister(this, direction));
+    triggers.clear();
+    for (BindingDelay delay : delays.values()) {
+      delay.cancel();
+    }
+    for (BindingLink link : links.values()) {
+      if (link instanceof AsyncBindingLink) {
+        ((AsyncBindingLink) link).cancel();
+      }
+    }
+  }
+
+  private void applyLink(Direction direction) {
+    if (closed || suppressor.isActive()) {
       return;
     }
 
@@ -51,6 +186,11 @@ public class DefaultBinding implements Binding {
       BindingLink link = links.get(direction);
       if (link != null) {
         link.applyLink();
+        // The other end changed: the value the reverse link transferred last is no longer current.
+        BindingLink reverse = links.get(direction == Direction.UP ? Direction.DOWN : Direction.UP);
+        if (reverse != null) {
+          reverse.invalidate();
+        }
       }
     }
   }
@@ -0,0 +1,29 @@
+/*
+ * Copyright 2020 Serge de Schaetzen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package net.sds.mvvm.bindings;
+
+/**
+ * Releases what was registered when it was created, e.g. the listeners of a binding. Closing it more than once has no
+ * effect.
+ */
+@FunctionalInterface
+public interface Disposable extends AutoCloseable {
+  @Override
+  void close();
+}
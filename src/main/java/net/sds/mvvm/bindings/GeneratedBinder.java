@@ -0,0 +1,97 @@
+/*
+ * Copyright 2020 Serge de Schaetzen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package net.sds.mvvm.bindings;
+
+import java.util.Optional;
+
+/**
+ * Base class of the binders generated by {@link net.sds.mvvm.processor.BindProcessor}. A generated binder reads the
+ * annotated fields directly, so no reflection is needed to find and access them.
+ * The binder of a class {@code a.b.View} is named {@code a.b.ViewBinder}. For nested classes, the '$' in the
+ * class name is replaced with '_': {@code a.b.Outer_ViewBinder}.
+ * @param <S> The class containing the @Bind annotations.
+ */
+public abstract class GeneratedBinder<S> {
+  static final String SUFFIX = "Binder";
+
+  /**
+   * Creates all bindings of the given source.
+   * @param source The object containing the annotated fields.
+   * @param target The object the target paths refer to.
+   * @param bindings The group the bindings are added to.
+   * @throws BindingException When a binding could not be created.
+   */
+  public abstract void bind(S source, Object target, BindingGroup bindings) throws BindingException;
+
+  /**
+   * Creates and applies the binding for a single @Bind annotation.
+   * @param bindings The group the binding is added to.
+   * @param fieldValue The value of the annotated field.
+   * @param sourcePath The value of the annotation, split on '.'.
+   * @param target The target.
+   * @param targetPath The target of the annotation, split on '.'.
+   * @param type The binding type.
+   */
+  protected static void bindField(BindingGroup bindings, Object fieldValue, String[] sourcePath, Object target, String[] targetPath,
+      BindingType type) throws BindingException {
+    bindings.add(Binder.bind(fieldValue, sourcePath, target, targetPath, type, 0, 0));
+  }
+
+  /**
+   * Creates and applies the binding for a single @Bind annotation with a debounce or throttle delay.
+   * @param bindings The group the binding is added to.
+   * @param fieldValue The value of the annotated field.
+   * @param sourcePath The value of the annotation, split on '.'.
+   * @param target The target.
+   * @param targetPath The target of the annotation, split on '.'.
+   * @param type The binding type.
+   * @param debounceMs The debounce delay of the annotation.
+   * @param throttleMs The throttle delay of the annotation.
+   */
+  protected static void bindField(BindingGroup bindings, Object fieldValue, String[] sourcePath, Object target, String[] targetPath,
+      BindingType type, int debounceMs, int throttleMs) throws BindingException {
+    bindings.add(Binder.bind(fieldValue, sourcePath, target, targetPath, type, debounceMs, throttleMs));
+  }
+
+  /**
+   * Returns the name of the binder generated for the given class name.
+   * @param className The binary name of the class.
+   * @return The binary name of the binder.
+   */
+  public static String getBinderName(String className) {
+    int i = className.lastIndexOf('.');
+    return className.substring(0, i + 1) + className.substring(i + 1).replace('$', '_') + SUFFIX;
+  }
+
+  /**
+   * Returns the binder generated for the given class, if any.
+   */
+  @SuppressWarnings("unchecked")
+  static Optional<GeneratedBinder<Object>> find(Class<?> type) {
+    try {
+      Class<?> cl = Class.forName(getBinderName(type.getName()), true, type.getClassLoader());
+      if (GeneratedBinder.class.isAssignableFrom(cl)) {
+        return Optional.of((GeneratedBinder<Object>) cl.getConstructor().newInstance());
+      }
+    } catch (ReflectiveOperationException | LinkageError e) {
+      // No (usable) binder was generated.
+    }
+    return Optional.empty();
+  }
+}
@@ -28,6 +28,7 @@ import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.BiPredicate;
 import javax.swing.AbstractButton;
@@ -39,10 +40,16 @@ import javax.swing.JTable;
 import javax.swing.ListModel;
 import javax.swing.table.TableModel;
 import javax.swing.text.JTextComponent;
+import net.sds.mvvm.collections.ObservableCollection;
+import net.sds.mvvm.collections.ObservableTableModel;
+import net.sds.mvvm.properties.DoubleProperty;
+import net.sds.mvvm.properties.IntProperty;
+import net.sds.mvvm.properties.LongProperty;
 import net.sds.mvvm.properties.Property;
+import net.sds.mvvm.utils.FactoryRegistry;
 
 public class ValueConsumerFactory {
-  private static List<ConsumerRegistrator> registrators = new ArrayList<>();
+  private static final FactoryRegistry<BiFunction<Object, String, ValueConsumer>> registry = new FactoryRegistry<>();
   private ValueConsumerFactory() {}
 
   /**
@@ -54,10 +61,9 @@ public class ValueConsumerFactory {
    * @return The ValueConsumer.
    */
   public static <T> ValueConsumer<T> create(Object source, String path) throws BindingException {
-    for (ConsumerRegistrator registrator : registrators) {
-      if (registrator.predicate.test(source, path)) {
-        return registrator.factory.apply(source, path);
-      }
+    BiFunction<Object, String, ValueConsumer> factory = registry.find(source, path);
+    if (factory != null) {
+      return factory.apply(source, path);
     }
     return getConsumer(source, path);
   }
@@ -85,12 +91,13 @@ public class ValueConsumerFactory {
   }
 
   /**
-   * Returns a ValueConsumer using the method with the name specified.
+   * Returns a ValueConsumer using the method with the name specified. The method is compiled into a direct call
+   * when the consumer is created.
    * @param owner
    * @param name
    * @return
    */
-  private static Optional<ValueConsumer> getMethodConsumer(final Object owner, String name) {
+  private static Optional<ValueConsumer> getMethodConsumer(final Object owner, String name) throws BindingException {
     Method method = null;
     Class<?> cl = owner.getClass();
     while (method == null && cl != null) {
@@ -104,90 +111,103 @@ public class ValueConsumerFactory {
     }
 
     if (method != null) {
-      final Method m = method;
-      return Optional.of(o -> {
-        try {
-          m.invoke(owner, o);
-        } catch (ReflectiveOperationException e) {
-          throw new BindingValueException(String.format("Could not set the value %s using method %s!", o, m.getName()));
-        }
-      });
+      final BiConsumer<Object, Object> setter = AccessorCompiler.compileSetter(method);
+      return Optional.of(o -> setter.accept(owner, o));
     }
     return Optional.empty();
   }
 
-  private static Optional<ValueConsumer> getFieldConsumer(final Object owner, String name) {
+  private static Optional<ValueConsumer> getFieldConsumer(final Object owner, String name) throws BindingException {
     Optional<Field> field = getField(owner.getClass(), name);
     if (field.isPresent()) {
-      final Field f = field.get();
-      if (!f.isAccessible()) {
-        f.setAccessible(true);
-      }
-      return Optional.of(o -> {
-        try {
-          f.set(owner, o);
-        } catch (ReflectiveOperationException e) {
-          throw new BindingValueException(String.format("Could not set the value %s using field %s!", o, f.getName()));
-        }
-      });
+      final BiConsumer<Object, Object> setter = AccessorCompiler.compileSetter(field.get());
+      return Optional.of(o -> setter.accept(owner, o));
     }
     return Optional.empty();
   }
 
   static {
-    registrators.add(new ConsumerRegistrator((o, s) -> o instanceof Property && s.equals(Paths.VALUE)
-        , (o, s) -> v -> Property.class.cast(o).set(v)));
+    register(IntProperty.class, Paths.VALUE
+        , (o, s) -> (IntValueConsumer) IntProperty.class.cast(o)::setInt);
+
+    register(LongProperty.class, Paths.VALUE
+        , (o, s) -> (LongValueConsumer) LongProperty.class.cast(o)::setLong);
+
+    register(DoubleProperty.class, Paths.VALUE
+        , (o, s) -> (DoubleValueConsumer) DoubleProperty.class.cast(o)::setDouble);
 
-    registrators.add(new ConsumerRegistrator((o, s) -> o instanceof JTextComponent && s.equals(Paths.TEXT)
-        , (o, s) -> v -> JTextComponent.class.cast(o).setText(v != null ? v.toString() : null)));
+    register(Property.class, Paths.VALUE
+        , (o, s) -> v -> Property.class.cast(o).set(v));
 
-    registrators.add(new ConsumerRegistrator((o, s) -> o instanceof JTextComponent && s.equals(Paths.EDITABLE)
-        , (o, s) -> v -> JTextComponent.class.cast(o).setEditable(Boolean.class.cast(v))));
+    register(JTextComponent.class, Paths.TEXT
+        , (o, s) -> v -> JTextComponent.class.cast(o).setText(v != null ? v.toString() : null));
 
-    registrators.add(new ConsumerRegistrator((o, s) -> o instanceof JLabel && s.equals(Paths.TEXT)
-        , (o, s) -> v -> JLabel.class.cast(o).setText(v != null ? v.toString() : null)));
+    register(JTextComponent.class, Paths.EDITABLE
+        , (o, s) -> v -> JTextComponent.class.cast(o).setEditable(Boolean.class.cast(v)));
 
-    registrators.add(new ConsumerRegistrator((o, s) -> o instanceof Component && s.equals(Paths.ENABLED)
-        , (o, s) -> v -> Component.class.cast(o).setEnabled(Boolean.class.cast(v))));
+    register(JLabel.class, Paths.TEXT
+        , (o, s) -> v -> JLabel.class.cast(o).setText(v != null ? v.toString() : null));
 
-    registrators.add(new ConsumerRegistrator((o, s) -> o instanceof Component && s.equals(Paths.VISIBLE)
-        , (o, s) -> v -> Component.class.cast(o).setVisible(Boolean.class.cast(v))));
+    register(Component.class, Paths.ENABLED
+        , (o, s) -> v -> Component.class.cast(o).setEnabled(Boolean.class.cast(v)));
 
-    registrators.add(new ConsumerRegistrator((o, s) -> o instanceof Component && s.equals(Paths.FOREGROUND)
-        , (o, s) -> v -> Component.class.cast(o).setForeground(Color.class.cast(v))));
+    register(Component.class, Paths.VISIBLE
+        , (o, s) -> v -> Component.class.cast(o).setVisible(Boolean.class.cast(v)));
 
-    registrators.add(new ConsumerRegistrator((o, s) -> o instanceof Component && s.equals(Paths.BACKGROUND)
-        , (o, s) -> v -> Component.class.cast(o).setBackground(Color.class.cast(v))));
+    register(Component.class, Paths.FOREGROUND
+        , (o, s) -> v -> Component.class.cast(o).setForeground(Color.class.cast(v)));
 
-    registrators.add(new ConsumerRegistrator((o, s) -> o instanceof Component && s.equals(Paths.FONT)
-        , (o, s) -> v -> Component.class.cast(o).setFont(Font.class.cast(v))));
+    register(Component.class, Paths.BACKGROUND
+        , (o, s) -> v -> Component.class.cast(o).setBackground(Color.class.cast(v)));
+
+    register(Component.class, Paths.FONT
+        , (o, s) -> v -> Component.class.cast(o).setFont(Font.class.cast(v)));
     
-    registrators.add(new ConsumerRegistrator((o, s) -> o instanceof AbstractButton && s.equals(Paths.SELECTED)
-        , (o, s) -> v -> AbstractButton.class.cast(o).setSelected(Boolean.class.cast(v))));
+    register(AbstractButton.class, Paths.SELECTED
+        , (o, s) -> v -> AbstractButton.class.cast(o).setSelected(Boolean.class.cast(v)));
+
+    register(JComboBox.class, Paths.SELECTED_ITEM
+        , (o, s) -> v -> JComboBox.class.cast(o).setSelectedItem(v));
 
-    registrators.add(new ConsumerRegistrator((o, s) -> o instanceof JComboBox && s.equals(Paths.SELECTED_ITEM)
-        , (o, s) -> v -> JComboBox.class.cast(o).setSelectedItem(v)));
+    register(JComboBox.class, Paths.MODEL
+        , (o, s) -> v -> JComboBox.class.cast(o).setModel(ComboBoxModel.class.cast(v)));
 
-    registrators.add(new ConsumerRegistrator((o, s) -> o instanceof JComboBox && s.equals(Paths.MODEL)
-        , (o, s) -> v -> JComboBox.class.cast(o).setModel(ComboBoxModel.class.cast(v))));
+    register(JList.class, Paths.SELECTED_INDEX
+        , (o, s) -> (IntValueConsumer) JList.class.cast(o)::setSelectedIndex);
 
-    registrators.add(new ConsumerRegistrator((o, s) -> o instanceof JList && s.equals(Paths.SELECTED_INDEX)
-        , (o, s) -> v -> JList.class.cast(o).setSelectedIndex(Integer.class.cast(v))));
+    register(JList.class, Paths.SELECTED_INDICES
+        , (o, s) -> v -> JList.class.cast(o).setSelectedIndices(int[].class.cast(v)));
 
-    registrators.add(new ConsumerRegistrator((o, s) -> o instanceof JComboBox && s.equals(Paths.SELECTED_INDICES)
-        , (o, s) -> v -> JList.class.cast(o).setSelectedIndices(int[].class.cast(v))));
+    register(JList.class, Paths.MODEL
+        , (o, s) -> v -> JList.class.cast(o).setModel(ListModel.class.cast(v)));
 
-    registrators.add(new ConsumerRegistrator((o, s) -> o instanceof JList && s.equals(Paths.MODEL)
-        , (o, s) -> v -> JList.class.cast(o).setModel(ListModel.class.cast(v))));
+    register(JTable.class, Paths.MODEL
+        , (o, s) -> v -> setModel(JTable.class.cast(o), v));
 
-    registrators.add(new ConsumerRegistrator((o, s) -> o instanceof JTable && s.equals(Paths.MODEL)
-        , (o, s) -> v -> JTable.class.cast(o).setModel(TableModel.class.cast(v))));
+    register(JTable.class, Paths.SELECTED_ROW
+        , (o, s) -> v -> setSelectedRows(JTable.class.cast(o), new Object[] {v}));
 
-    registrators.add(new ConsumerRegistrator((o, s) -> o instanceof JTable && s.equals(Paths.SELECTED_ROW)
-        , (o, s) -> v -> setSelectedRows(JTable.class.cast(o), new Object[] {v})));
+    register(JTable.class, Paths.SELECTED_ROWS
+        , (o, s) -> v -> setSelectedRows(JTable.class.cast(o), Object[].class.cast(v)));
+  }
 
-    registrators.add(new ConsumerRegistrator((o, s) -> o instanceof JTable && s.equals(Paths.SELECTED_ROWS)
-        , (o, s) -> v -> setSelectedRows(JTable.class.cast(o), Object[].class.cast(v))));
+  /**
+   * Sets the model of the table. When an ObservableCollection is given and the table shows an ObservableTableModel,
+   * the collection is shown in that model, which keeps its columns.
+   * @throws BindingValueException When the value is neither a TableModel nor a collection that can be shown.
+   */
+  private static void setModel(JTable table, Object model) {
+    if (model instanceof ObservableCollection) {
+      if (!(table.getModel() instanceof ObservableTableModel)) {
+        throw new BindingValueException("An ObservableCollection can only be bound to a JTable showing an "
+            + "ObservableTableModel, which defines the columns. The table shows a " + table.getModel().getClass().getName());
+      }
+      ((ObservableTableModel<Object>) table.getModel()).setCollection((ObservableCollection<Object>) model);
+    } else if (model == null || model instanceof TableModel) {
+      table.setModel((TableModel) model);
+    } else {
+      throw new BindingValueException("Can not set a " + model.getClass().getName() + " as model of a JTable");
+    }
   }
 
   private static void setSelectedRows(JTable table, Object[] rows) {
@@ -206,26 +226,37 @@ public class ValueConsumerFactory {
     }
   }
 
+  private static void register(Class<?> type, String path, BiFunction<Object, String, ValueConsumer> factory) {
+    registry.register(type, path, factory, -1);
+  }
+
   public static void registerConsumerFactory(BiPredicate<Object, String> predicate, BiFunction<Object, String, ValueConsumer> factory) {
     registerConsumerFactory(predicate, factory, -1);
   }
 
+  /**
+   * Registers a consumer factory that is used when the predicate matches. Predicates are tested every time a
+   * consumer is created, so registering by type is preferred.
+   * @param predicate The predicate, tested with the object and the path.
+   * @param factory The factory.
+   * @param index The priority: the index in the list of factories, or -1 to add it at the end.
+   */
   public static void registerConsumerFactory(BiPredicate<Object, String> predicate, BiFunction<Object, String, ValueConsumer> factory, int index) {
-    ConsumerRegistrator registrator = new ConsumerRegistrator(predicate, factory);
-    if (index < 0) {
-      registrators.add(registrator);
-    } else {
-      registrators.add(index, registrator);
-    }
+    registry.register(predicate, factory, index);
   }
 
-  private static class ConsumerRegistrator {
-    final private BiPredicate<Object, String> predicate;
-    final private BiFunction<Object, String, ValueConsumer> factory;
+  public static void registerConsumerFactory(Class<?> type, String path, BiFunction<Object, String, ValueConsumer> factory) {
+    registerConsumerFactory(type, path, factory, -1);
+  }
 
-    private ConsumerRegistrator(BiPredicate<Object, String> predicate, BiFunction<Object, String, ValueConsumer> factory) {
-      this.predicate = predicate;
-      this.factory = factory;
-    }
+  /**
+   * Registers a consumer factory for instances of the given type and the given path.
+   * @param type The type of object.
+   * @param path The path, or null for any path.
+   * @param factory The factory.
+   * @param index The priority: the index in the list of factories, or -1 to add it at the end.
+   */
+  public static void registerConsumerFactory(Class<?> type, String path, BiFunction<Object, String, ValueConsumer> factory, int index) {
+    registry.register(type, path, factory, index);
   }
 }
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2020 Serge de Schaetzen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package net.sds.mvvm.bindings;
+
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * Decides whether a value equals the value a binding transferred last, in which case the value is not transferred
+ * again. With {@link #IDENTITY} and {@link #EQUALS}, primitive values are transferred without boxing and compared by
+ * value. Other equalities are given the boxed values.
+ */
+@FunctionalInterface
+public interface ValueEquality {
+  ValueEquality IDENTITY = (a, b) -> a == b;
+  ValueEquality EQUALS = Objects::equals;
+
+  boolean isEqual(Object value, Object last);
+
+  /**
+   * Returns an equality considering values equal when the comparator returns 0.
+   * @param comparator The comparator, called with non null values.
+   * @return The equality.
+   */
+  @SuppressWarnings("unchecked")
+  static <T> ValueEquality comparing(Comparator<? super T> comparator) {
+    return (a, b) -> a == b || (a != null && b != null && comparator.compare((T) a, (T) b) == 0);
+  }
+}
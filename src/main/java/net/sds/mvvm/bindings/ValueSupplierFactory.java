@@ -24,11 +24,10 @@ import static net.sds.mvvm.utils.ReflectionUtils.resolvePath;
 import java.awt.Component;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Optional;
 import java.util.function.BiFunction;
 import java.util.function.BiPredicate;
+import java.util.function.Function;
 import javax.swing.AbstractButton;
 import javax.swing.ComboBoxModel;
 import javax.swing.JComboBox;
@@ -36,19 +35,22 @@ import javax.swing.JLabel;
 import javax.swing.JList;
 import javax.swing.JTable;
 import javax.swing.text.JTextComponent;
+import net.sds.mvvm.properties.DoubleProperty;
+import net.sds.mvvm.properties.IntProperty;
+import net.sds.mvvm.properties.LongProperty;
 import net.sds.mvvm.properties.Property;
+import net.sds.mvvm.utils.FactoryRegistry;
 
 public class ValueSupplierFactory {
-  private static List<SupplierRegistrator> registrators = new ArrayList<>();
+  private static final FactoryRegistry<BiFunction<Object, String, ValueSupplier>> registry = new FactoryRegistry<>();
 
   private ValueSupplierFactory() {
   }
 
   public static <T> ValueSupplier<T> create(Object source, String path) throws BindingException {
-    for (SupplierRegistrator registrator : registrators) {
-      if (registrator.predicate.test(source, path)) {
-        return registrator.factory.apply(source, path);
-      }
+    BiFunction<Object, String, ValueSupplier> factory = registry.find(source, path);
+    if (factory != null) {
+      return factory.apply(source, path);
     }
     return getSupplier(source, path);
   }
@@ -79,100 +81,97 @@ public class ValueSupplierFactory {
 
   /**
    * Returns a ValueSupplier for the method with the given name and owner, or Optional.empty() if the method is not found.
+   * The method is compiled into a direct call when the supplier is created.
    *
    * @param owner The owner.
    * @param name The method name.
    * @return The ValueProvider
    */
-  private static Optional<ValueSupplier> getMethodSupplier(final Object owner, String name) {
+  private static Optional<ValueSupplier> getMethodSupplier(final Object owner, String name) throws BindingException {
     final Optional<Method> method = getMethod(owner.getClass(), name);
     if (method.isPresent()) {
-      return Optional.of(() -> {
-        try {
-          return method.get().invoke(owner);
-        } catch (ReflectiveOperationException e) {
-          throw new BindingValueException(String.format("Could not get the value of %s from %s!", method.get().getName(), owner));
-        }
-      });
+      final Function<Object, Object> getter = AccessorCompiler.compileGetter(method.get());
+      return Optional.of(() -> getter.apply(owner));
     }
     return Optional.empty();
   }
 
   /**
-   * Returns a ValueSupplier for the method with the given name and owner, or Optional.empty() if the method is not found.
+   * Returns a ValueSupplier for the field with the given name and owner, or Optional.empty() if the field is not found.
+   * The field access is compiled when the supplier is created.
    *
    * @param owner The owner.
-   * @param name The method name.
+   * @param name The field name.
    * @return The ValueProvider
    */
-  private static Optional<ValueSupplier> getFieldSupplier(final Object owner, String name) {
+  private static Optional<ValueSupplier> getFieldSupplier(final Object owner, String name) throws BindingException {
     final Optional<Field> field = getField(owner.getClass(), name);
     if (field.isPresent()) {
-      final Field f = field.get();
-      if (!f.isAccessible()) {
-        f.setAccessible(true);
-      }
-      return Optional.of(() -> {
-        try {
-          return f.get(owner);
-        } catch (ReflectiveOperationException e) {
-          throw new BindingValueException(String.format("Could not get the value of %s from %s!", f.getName(), owner));
-        }
-      });
+      final Function<Object, Object> getter = AccessorCompiler.compileGetter(field.get());
+      return Optional.of(() -> getter.apply(owner));
     }
     return Optional.empty();
   }
 
   static {
-    registrators.add(new SupplierRegistrator((o, s) -> o instanceof Property && s.equals(Paths.VALUE)
-        , (o, s) -> () -> Property.class.cast(o).get()));
+    register(IntProperty.class, Paths.VALUE
+        , (o, s) -> (IntValueSupplier) IntProperty.class.cast(o)::getInt);
 
-    registrators.add(new SupplierRegistrator((o, s) -> o instanceof JTextComponent && s.equals(Paths.TEXT)
-        , (o, s) -> () -> JTextComponent.class.cast(o).getText()));
+    register(LongProperty.class, Paths.VALUE
+        , (o, s) -> (LongValueSupplier) LongProperty.class.cast(o)::getLong);
 
-    registrators.add(new SupplierRegistrator((o, s) -> o instanceof JLabel && s.equals(Paths.TEXT)
-        , (o, s) -> () -> JLabel.class.cast(o).getText()));
+    register(DoubleProperty.class, Paths.VALUE
+        , (o, s) -> (DoubleValueSupplier) DoubleProperty.class.cast(o)::getDouble);
 
-    registrators.add(new SupplierRegistrator((o, s) -> o instanceof JTextComponent && s.equals(Paths.EDITABLE)
-        , (o, s) -> () -> JTextComponent.class.cast(o).isEditable()));
+    register(Property.class, Paths.VALUE
+        , (o, s) -> () -> Property.class.cast(o).get());
 
-    registrators.add(new SupplierRegistrator((o, s) -> o instanceof Component && s.equals(Paths.ENABLED)
-        , (o, s) -> () -> Component.class.cast(o).isEnabled()));
+    register(JTextComponent.class, Paths.TEXT
+        , (o, s) -> () -> JTextComponent.class.cast(o).getText());
 
-    registrators.add(new SupplierRegistrator((o, s) -> o instanceof Component && s.equals(Paths.VISIBLE)
-        , (o, s) -> () -> Component.class.cast(o).isVisible()));
+    register(JLabel.class, Paths.TEXT
+        , (o, s) -> () -> JLabel.class.cast(o).getText());
 
-    registrators.add(new SupplierRegistrator((o, s) -> o instanceof Component && s.equals(Paths.FOREGROUND)
-        , (o, s) -> () -> Component.class.cast(o).getForeground()));
+    register(JTextComponent.class, Paths.EDITABLE
+        , (o, s) -> () -> JTextComponent.class.cast(o).isEditable());
 
-    registrators.add(new SupplierRegistrator((o, s) -> o instanceof Component && s.equals(Paths.BACKGROUND)
-        , (o, s) -> () -> Component.class.cast(o).getBackground()));
+    register(Component.class, Paths.ENABLED
+        , (o, s) -> () -> Component.class.cast(o).isEnabled());
 
-    registrators.add(new SupplierRegistrator((o, s) -> o instanceof Component && s.equals(Paths.FONT)
-        , (o, s) -> () -> Component.class.cast(o).getFont()));
+    register(Component.class, Paths.VISIBLE
+        , (o, s) -> () -> Component.class.cast(o).isVisible());
 
-    registrators.add(new SupplierRegistrator((o, s) -> o instanceof AbstractButton && s.equals(Paths.SELECTED)
-        , (o, s) -> () -> AbstractButton.class.cast(o).isSelected()));
+    register(Component.class, Paths.FOREGROUND
+        , (o, s) -> () -> Component.class.cast(o).getForeground());
 
-    registrators.add(new SupplierRegistrator((o, s) -> o instanceof JComboBox && s.equals(Paths.SELECTED_ITEM)
-        , (o, s) -> () -> JComboBox.class.cast(o).getSelectedItem()));
+    register(Component.class, Paths.BACKGROUND
+        , (o, s) -> () -> Component.class.cast(o).getBackground());
 
-    registrators.add(new SupplierRegistrator((o, s) -> o instanceof JComboBox && s.equals(Paths.MODEL)
-        , (o, s) -> () -> JComboBox.class.cast(o).getModel()));
+    register(Component.class, Paths.FONT
+        , (o, s) -> () -> Component.class.cast(o).getFont());
 
-    registrators.add(new SupplierRegistrator((o, s) -> o instanceof JList && s.equals(Paths.SELECTED_INDEX)
-        , (o, s) -> () -> JList.class.cast(o).getSelectedIndex()));
+    register(AbstractButton.class, Paths.SELECTED
+        , (o, s) -> () -> AbstractButton.class.cast(o).isSelected());
 
-    registrators.add(new SupplierRegistrator((o, s) -> o instanceof JList && s.equals(Paths.SELECTED_INDICES)
-        , (o, s) -> () -> JList.class.cast(o).getSelectedIndices()));
+    register(JComboBox.class, Paths.SELECTED_ITEM
+        , (o, s) -> () -> JComboBox.class.cast(o).getSelectedItem());
 
-    registrators.add(new SupplierRegistrator((o, s) -> o instanceof JList && s.equals(Paths.MODEL)
-        , (o, s) -> () -> JList.class.cast(o).getModel()));
+    register(JComboBox.class, Paths.MODEL
+        , (o, s) -> () -> JComboBox.class.cast(o).getModel());
 
-    registrators.add(new SupplierRegistrator((o, s) -> o instanceof JTable && s.equals(Paths.MODEL)
-        , (o, s) -> () -> JTable.class.cast(o).getModel()));
+    register(JList.class, Paths.SELECTED_INDEX
+        , (o, s) -> (IntValueSupplier) JList.class.cast(o)::getSelectedIndex);
 
-    registrators.add(new SupplierRegistrator((o, s) -> o instanceof JTable && s.equals(Paths.SELECTED_ROW)
+    register(JList.class, Paths.SELECTED_INDICES
+        , (o, s) -> () -> JList.class.cast(o).getSelectedIndices());
+
+    register(JList.class, Paths.MODEL
+        , (o, s) -> () -> JList.class.cast(o).getModel());
+
+    register(JTable.class, Paths.MODEL
+        , (o, s) -> () -> JTable.class.cast(o).getModel());
+
+    register(JTable.class, Paths.SELECTED_ROW
         , (o, s) -> () -> {
       int[] rows = getSelectedModelRows(JTable.class.cast(o));
       if (rows.length > 0) {
@@ -181,10 +180,10 @@ public class ValueSupplierFactory {
       else {
         return -1;
       }
-    }));
+    });
 
-    registrators.add(new SupplierRegistrator((o, s) -> o instanceof JTable && s.equals(Paths.SELECTED_ROWS)
-        , (o, s) -> () -> getSelectedModelRows(JTable.class.cast(o))));
+    register(JTable.class, Paths.SELECTED_ROWS
+        , (o, s) -> () -> getSelectedModelRows(JTable.class.cast(o)));
   }
 
   public static int[] getSelectedModelRows(JTable table) {
@@ -196,26 +195,37 @@ public class ValueSupplierFactory {
     return modelRows;
   }
 
+  private static void register(Class<?> type, String path, BiFunction<Object, String, ValueSupplier> factory) {
+    registry.register(type, path, factory, -1);
+  }
+
   public static void registerSupplierFactory(BiPredicate<Object, String> predicate, BiFunction<Object, String, ValueSupplier> factory) {
     registerSupplierFactory(predicate, factory, -1);
   }
 
+  /**
+   * Registers a supplier factory that is used when the predicate matches. Predicates are tested every time a
+   * supplier is created, so registering by type is preferred.
+   * @param predicate The predicate, tested with the object and the path.
+   * @param factory The factory.
+   * @param index The priority: the index in the list of factories, or -1 to add it at the end.
+   */
   public static void registerSupplierFactory(BiPredicate<Object, String> predicate, BiFunction<Object, String, ValueSupplier> factory, int index) {
-    SupplierRegistrator registrator = new SupplierRegistrator(predicate, factory);
-    if (index < 0) {
-      registrators.add(registrator);
-    } else {
-      registrators.add(index, registrator);
-    }
+    registry.register(predicate, factory, index);
   }
 
-  private static class SupplierRegistrator {
-    final private BiPredicate<Object, String> predicate;
-    final private BiFunction<Object, String, ValueSupplier> factory;
+  public static void registerSupplierFactory(Class<?> type, String path, BiFunction<Object, String, ValueSupplier> factory) {
+    registerSupplierFactory(type, path, factory, -1);
+  }
 
-    private SupplierRegistrator(BiPredicate<Object, String> predicate, BiFunction<Object, String, ValueSupplier> factory) {
-      this.predicate = predicate;
-      this.factory = factory;
-    }
+  /**
+   * Registers a supplier factory for instances of the given type and the given path.
+   * @param type The type of object.
+   * @param path The path, or null for any path.
+   * @param factory The factory.
+   * @param index The priority: the index in the list of factories, or -1 to add it at the end.
+   */
+  public static void registerSupplierFactory(Class<?> type, String path, BiFunction<Object, String, ValueSupplier> factory, int index) {
+    registry.register(type, path, factory, index);
   }
 }
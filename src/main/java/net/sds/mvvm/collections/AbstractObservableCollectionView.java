@@ -17,7 +17,11 @@
 
 package net.sds.mvvm.collections;
 
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
 import net.sds.mvvm.utils.EventSuppressor;
 import org.apache.commons.lang3.ObjectUtils;
 
@@ -26,6 +30,7 @@ import org.apache.commons.lang3.ObjectUtils;
  * @param <T>
  */
 public abstract class AbstractObservableCollectionView<T> extends ObservableArrayList<T> implements CollectionChangedListener<T> {
+  private static final int MAX_DIFF_EDITS = 256;
   private Collection<T> sourceList;
   private EventSuppressor suppressor = new EventSuppressor();
 
@@ -41,19 +46,54 @@ public abstract class AbstractObservableCollectionView<T> extends ObservableArra
   }
 
   protected void reset() {
+    List<T> old = isObserved() ? new ArrayList<>(this) : null;
     try (EventSuppressor closeable = openSuppressor()) {
       clear();
       addAll(sourceList);
     }
+    if (old != null)
+      notifyDifferences(old);
+  }
+
+  /**
+   * Notifies the listeners of the differences between the previous contents of the view and the current ones, as
+   * a removal followed by an addition. Falls back to a reset when there are too many differences.
+   * @param old The previous contents.
+   */
+  protected void notifyDifferences(List<T> old) {
+    ListDiff diff = ListDiff.of(old, this, MAX_DIFF_EDITS);
+    if (diff == null) {
+      notifyListeners(new CollectionResetEvent<>(this));
+      return;
+    }
+
+    if (!diff.getRemoved().isEmpty())
+      notifyListeners(new CollectionElementsRemovedEvent<>(this, itemsAt(old, diff.getRemoved()), diff.getRemoved()));
+    if (!diff.getAdded().isEmpty())
+      notifyListeners(new CollectionElementsAddedEvent<>(this, itemsAt(this, diff.getAdded()), diff.getAdded()));
+  }
+
+  private static <T> List<T> itemsAt(List<T> list, IndexRanges ranges) {
+    List<T> items = new ArrayList<>(ranges.size());
+    for (int r = 0; r < ranges.getRangeCount(); r++)
+      items.addAll(list.subList(ranges.getFrom(r), ranges.getTo(r)));
+    return items;
   }
 
   @Override
   protected void notifyListeners(CollectionChangedEvent<T> e) {
     if (!suppressor.isActive()) {
       super.notifyListeners(e);
+    } else {
+      track(e);
     }
   }
 
+  @Override
+  protected boolean isObserved() {
+    return (!suppressor.isActive() && super.isObserved()) || isElementTracking();
+  }
+
   protected EventSuppressor openSuppressor() {
     return suppressor.open();
   }
@@ -65,18 +105,70 @@ public abstract class AbstractObservableCollectionView<T> extends ObservableArra
   public void collectionChanged(CollectionChangedEvent<T> e) {
     switch (e.getChangeType()) {
       case ADD:
-        for (T t : e.getNewItems())
-          add(t);
+        addAll(e.getNewItems());
         break;
       case REMOVE:
-        for (T t : e.getOldItems())
-          remove(t);
+        sourceRemoved(e.getOldItems());
         break;
       case RESET:
         reset();
         break;
     }
   }
+
+  /**
+   * Removes the elements removed from the source. The elements are located first, and then removed with a single pass
+   * over the view, which fires a single event.
+   * @param items The elements removed from the source.
+   */
+  protected void sourceRemoved(Collection<? extends T> items) {
+    BitSet found = new BitSet(size());
+    for (T t : items) {
+      int i = viewIndexOf(t, found);
+      if (i >= 0)
+        found.set(i);
+    }
+
+    IndexRanges.Builder ranges = new IndexRanges.Builder();
+    for (int i = found.nextSetBit(0); i >= 0; i = found.nextSetBit(i + 1))
+      ranges.add(i);
+    removeRanges(ranges.build());
+  }
+
+  /**
+   * Returns the index of an element of the view equal to o, skipping the indices already located.
+   * @param o The element to locate.
+   * @param located The indices already located.
+   * @return The index, or -1 if not found.
+   */
+  protected int viewIndexOf(Object o, BitSet located) {
+    for (int i = located.nextClearBit(0); i < size(); i = located.nextClearBit(i + 1)) {
+      if (Objects.equals(o, get(i)))
+        return i;
+    }
+    return -1;
+  }
+
+  /**
+   * Returns the index of the element o in the list, compared by identity, searching outwards from the index it was
+   * last seen at. An element only moves by the number of elements added or removed before it, so it is usually found
+   * close to that index.
+   * @param list The list to search.
+   * @param o The element to locate.
+   * @param hint The index the element was last seen at.
+   * @return The index, or -1 if not found.
+   */
+  protected static int identityIndexNear(List<?> list, Object o, int hint) {
+    int size = list.size();
+    hint = Math.max(0, Math.min(hint, size - 1));
+    for (int d = 0; hint - d >= 0 || hint + d < size; d++) {
+      if (hint - d >= 0 && list.get(hint - d) == o)
+        return hint - d;
+      if (d > 0 && hint + d < size && list.get(hint + d) == o)
+        return hint + d;
+    }
+    return -1;
+  }
   // endregion
 
   // ---------------------------------------------------------------------------
@@ -25,16 +25,17 @@ import java.util.Collection;
 public abstract class CollectionChangedEvent<T> {
   private ChangeType changeType;
   private Collection<? extends T> newItems;
+  private IndexRanges ranges;
   private int[] indices;
   private Collection<? extends T> oldItems;
   private ObservableCollection<T> source;
 
-  CollectionChangedEvent(ObservableCollection<T> source, ChangeType changeType, Collection<? extends T> newItems, Collection<? extends T> oldItems, int[] indices){
+  CollectionChangedEvent(ObservableCollection<T> source, ChangeType changeType, Collection<? extends T> newItems, Collection<? extends T> oldItems, IndexRanges ranges){
     this.changeType = changeType;
     this.newItems = newItems;
     this.oldItems = oldItems;
     this.source = source;
-    this.indices = indices;
+    this.ranges = ranges;
   }
 
   /**
@@ -47,7 +48,7 @@ public abstract class CollectionChangedEvent<T> {
 
   /**
    * Returns the collection of new items. This will only contain elements if it concerns
-   * a ChangeType.ADD event.
+   * a ChangeType.ADD event, or the updated element of a ChangeType.UPDATE event.
    * @return The new items.
    */
   public Collection<? extends T> getNewItems() {
@@ -72,20 +73,34 @@ public abstract class CollectionChangedEvent<T> {
   }
 
   /**
-   * Returns the indices of the added or removed rows. In case of a RESET,
-   * the indices will be null.
+   * Returns the indices of the added, removed or updated rows, in ascending order. The indices of removed
+   * rows are the indices before the removal. In case of a RESET, the indices will be null.
+   * The array is created the first time it is requested; prefer {@link #getRanges()} for large changes.
    * @return The indices.
    */
   public int[] getIndices() {
+    if (indices == null && ranges != null) {
+      indices = ranges.toArray();
+    }
     return indices;
   }
 
+  /**
+   * Returns the indices of the added, removed or updated rows as contiguous ranges. In case of a RESET,
+   * the ranges will be null.
+   * @return The ranges.
+   */
+  public IndexRanges getRanges() {
+    return ranges;
+  }
+
   // ---------------------------------------------------------------------------
   // Event type
   // ---------------------------------------------------------------------------
   public enum ChangeType {
     ADD,
     REMOVE,
-    RESET
+    RESET,
+    UPDATE
   }
 }
\ No newline at end of file
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2020 Serge de Schaetzen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package net.sds.mvvm.collections;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import net.sds.mvvm.collections.CollectionChangedEvent.ChangeType;
+
+/**
+ * Buffers the events fired during a batch update of an ObservableCollection, and coalesces them:
+ * consecutive additions are merged into a single addition, consecutive removals into a single removal. Updates are
+ * kept as they are.
+ * When a reset is buffered, or when the number of changed elements exceeds the size of the collection,
+ * the buffered events are replaced with a single reset.
+ * @param <T>
+ */
+class CollectionChangedEventBuffer<T> {
+  private final ObservableCollection<T> source;
+  private final List<Pending<T>> events = new ArrayList<>();
+  private boolean reset;
+  private int changes;
+
+  CollectionChangedEventBuffer(ObservableCollection<T> source) {
+    this.source = source;
+  }
+
+  void add(CollectionChangedEvent<T> e) {
+    if (reset) {
+      return;
+    }
+    if (e.getChangeType() == ChangeType.RESET) {
+      reset = true;
+      events.clear();
+      return;
+    }
+
+    if (e.getChangeType() == ChangeType.UPDATE) {
+      events.add(new Pending<>(e));
+      return;
+    }
+
+    changes += e.getRanges().size();
+    Pending<T> last = events.isEmpty() ? null : events.get(events.size() - 1);
+    if (last != null && last.type == e.getChangeType()) {
+      merge(last, e);
+    } else {
+      events.add(new Pending<>(e));
+    }
+  }
+
+  boolean isEmpty() {
+    return !reset && events.isEmpty();
+  }
+
+  /**
+   * Returns the coalesced events and clears the buffer.
+   * @return The events to fire.
+   */
+  List<CollectionChangedEvent<T>> drain() {
+    List<CollectionChangedEvent<T>> result;
+    if (reset || (events.size() > 1 && changes > source.size())) {
+      result = Collections.singletonList(new CollectionResetEvent<>(source));
+    } else {
+      result = new ArrayList<>(events.size());
+      for (Pending<T> p : events) {
+        result.add(p.event != null ? p.event : p.type == ChangeType.ADD
+            ? new CollectionElementsAddedEvent<>(source, p.items, p.ranges)
+            : new CollectionElementsRemovedEvent<>(source, p.items, p.ranges));
+      }
+    }
+    events.clear();
+    reset = false;
+    changes = 0;
+    return result;
+  }
+
+  /**
+   * Merges an event into the pending event of the same type.
+   * For additions, the indices of the pending event are expressed in the collection without the elements added by
+   * the new event. For removals, the indices of the new event are expressed in the collection without
+   * the elements removed by the pending one. In both cases these are mapped to the index space of the other event.
+   */
+  private void merge(Pending<T> pending, CollectionChangedEvent<T> e) {
+    Collection<? extends T> items = e.getChangeType() == ChangeType.ADD ? e.getNewItems() : e.getOldItems();
+    IndexRanges existing;
+    IndexRanges added;
+    if (e.getChangeType() == ChangeType.ADD) {
+      existing = IndexRanges.map(e.getRanges(), pending.ranges);
+      added = e.getRanges();
+    } else {
+      existing = pending.ranges;
+      added = IndexRanges.map(pending.ranges, e.getRanges());
+    }
+
+    List<T> merged = pending.mutableItems();
+    if (existing.last() < added.getFrom(0)) {
+      merged.addAll(items);
+    } else {
+      List<T> result = new ArrayList<>(merged.size() + items.size());
+      Iterator<T> existingItems = merged.iterator();
+      Iterator<? extends T> addedItems = items.iterator();
+      int i = 0;
+      int j = 0;
+      while (i < existing.getRangeCount() || j < added.getRangeCount()) {
+        if (j >= added.getRangeCount() || (i < existing.getRangeCount() && existing.getFrom(i) < added.getFrom(j))) {
+          copy(existingItems, existing.getTo(i) - existing.getFrom(i), result);
+          i++;
+        } else {
+          copy(addedItems, added.getTo(j) - added.getFrom(j), result);
+          j++;
+        }
+      }
+      pending.items = result;
+      pending.owned = true;
+    }
+    pending.ranges = IndexRanges.union(existing, added);
+  }
+
+  private static <T> void copy(Iterator<? extends T> from, int count, List<T> to) {
+    for (int i = 0; i < count; i++) {
+      to.add(from.next());
+    }
+  }
+
+  private static class Pending<T> {
+    private final ChangeType type;
+    private IndexRanges ranges;
+    private Collection<? extends T> items;
+    private boolean owned;
+    private CollectionChangedEvent<T> event;
+
+    private Pending(CollectionChangedEvent<T> e) {
+      this.event = e;
+      this.type = e.getChangeType();
+      this.ranges = e.getRanges();
+      this.items = type == ChangeType.REMOVE ? e.getOldItems() : e.getNewItems();
+    }
+
+    /**
+     * Returns the items as a list owned by the buffer, so that the items of the merged events can be appended.
+     */
+    @SuppressWarnings("unchecked")
+    private List<T> mutableItems() {
+      event = null;
+      if (!owned) {
+        items = new ArrayList<>(items);
+        owned = true;
+      }
+      return (List<T>) items;
+    }
+  }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2020 Serge de Schaetzen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package net.sds.mvvm.collections;
+
+import java.util.Collections;
+
+/**
+ * Defines an event that is fired when a property of an element of an ObservableCollection changed. These events are
+ * only fired when element tracking is enabled on the collection.
+ * @param <T>
+ */
+public class CollectionElementUpdatedEvent<T> extends CollectionChangedEvent<T> {
+  private final String propertyName;
+
+  CollectionElementUpdatedEvent(ObservableCollection<T> source, T element, int index, String propertyName) {
+    super(source, ChangeType.UPDATE, Collections.singletonList(element), null, IndexRanges.range(index, index + 1));
+    this.propertyName = propertyName;
+  }
+
+  /**
+   * Returns the name of the property that changed.
+   * @return The (possibly null) property name.
+   */
+  public String getPropertyName() {
+    return propertyName;
+  }
+}
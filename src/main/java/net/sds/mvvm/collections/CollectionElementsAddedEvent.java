@@ -24,7 +24,7 @@ import java.util.Collection;
  * @param <T>
  */
 public class CollectionElementsAddedEvent<T> extends CollectionChangedEvent<T> {
-  CollectionElementsAddedEvent(ObservableCollection<T> source, Collection<? extends T> newItems, int[] indices) {
-    super(source, ChangeType.ADD, newItems, null, indices);
+  CollectionElementsAddedEvent(ObservableCollection<T> source, Collection<? extends T> newItems, IndexRanges ranges) {
+    super(source, ChangeType.ADD, newItems, null, ranges);
   }
 }
\ No newline at end of file
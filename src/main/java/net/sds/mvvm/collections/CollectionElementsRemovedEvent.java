@@ -24,7 +24,7 @@ import java.util.Collection;
  * @param <T>
  */
 public class CollectionElementsRemovedEvent<T> extends CollectionChangedEvent<T> {
-  CollectionElementsRemovedEvent(ObservableCollection<T> source, Collection<? extends T> oldItems, int[] indices) {
-    super(source, ChangeType.REMOVE, null, oldItems, indices);
+  CollectionElementsRemovedEvent(ObservableCollection<T> source, Collection<? extends T> oldItems, IndexRanges ranges) {
+    super(source, ChangeType.REMOVE, null, oldItems, ranges);
   }
 }
@@ -20,22 +20,43 @@ package net.sds.mvvm.collections;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 import net.sds.mvvm.NotifyPropertyChanged;
+import net.sds.mvvm.collections.ObservableCollection.Update;
+import net.sds.mvvm.utils.EventSuppressor;
 
 /**
  * Defines a Collection view that filters the elements using a predefined predicate.
  * If a propertyName is specified, the view will only listen for changes to the specified property.
+ * The view keeps the order of the source, and maps each of its elements to the index of that element in the source,
+ * so that elements that start or stop matching the predicate are inserted or removed at their source position.
+ * The source indices refer to the source as of the last change event received: the view keeps a copy of the source
+ * elements, so that an element changing before its addition or removal was notified, e.g. during a batch update of
+ * the source, is located consistently.
+ * Modifications of the view are applied to its source, and reach the view through the change events of the source,
+ * so that an added element only shows when it matches the predicate.
  * @param <T>
  */
 public class FilteredObservableCollectionView<T> extends AbstractObservableCollectionView<T> implements PropertyChangeListener {
-  private Predicate<? super T> predicate;
-  private String propertyName;
+  private final Collection<T> source;
+  private final List<T> sourceElements = new ArrayList<>();
+  private final Predicate<? super T> predicate;
+  private final String propertyName;
+  private final Map<T, Tracked> tracked = new IdentityHashMap<>();
+  private int[] sourceIndices = new int[0];
+  private int count;
 
   public FilteredObservableCollectionView(Collection<T> source, Predicate<? super T> predicate, String propertyName) {
     super(source);
+    this.source = source;
     this.predicate = predicate;
     this.propertyName = propertyName;
   }
@@ -44,114 +65,378 @@ public class FilteredObservableCollectionView<T> extends AbstractObservableColle
     this(source, predicate, null);
   }
 
+  /**
+   * Returns the index, in the source, of the element at the given index of the view.
+   * @param index The index in the view.
+   * @return The index in the source.
+   */
+  public int getSourceIndex(int index) {
+    if (index < 0 || index >= count) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+    }
+    return sourceIndices[index];
+  }
+
   @Override
-  public boolean addAll(Collection<? extends T> c) {
-    List<T> toAdd = new ArrayList<>();
-    for (T t : c) {
-      if (t instanceof NotifyPropertyChanged)
-        registerPropertyChanged((NotifyPropertyChanged) t);
-      if (predicate.test(t))
-        toAdd.add(t);
+  void initialize() {
+    rebuild();
+  }
+
+  @Override
+  protected void reset() {
+    List<T> old = isObserved() ? new ArrayList<>(this) : null;
+    for (T t : tracked.keySet()) {
+      removePropertyChangeListener(t);
     }
+    tracked.clear();
+    rebuild();
+    if (old != null)
+      notifyDifferences(old);
+  }
 
-    return super.addAll(toAdd);
+  private void rebuild() {
+    sourceElements.clear();
+    sourceElements.addAll(source);
+    int[] indices = new int[sourceElements.size()];
+    List<T> items = new ArrayList<>();
+    int i = 0;
+    for (T t : sourceElements) {
+      registerPropertyChanged(t, i);
+      if (predicate.test(t)) {
+        indices[items.size()] = i;
+        items.add(t);
+      }
+      i++;
+    }
+
+    try (EventSuppressor closeable = openSuppressor()) {
+      super.clear();
+      sourceIndices = indices;
+      count = items.size();
+      super.addAll(items);
+    }
   }
 
+  // ---------------------------------------------------------------------------
+  // region Modifications, applied to the source:
+  // ---------------------------------------------------------------------------
   @Override
   public boolean add(T t) {
-    if (t instanceof NotifyPropertyChanged)
-      registerPropertyChanged((NotifyPropertyChanged) t);
-    if (predicate.test(t))
-      return super.add(t);
-    else
-      return false;
+    return observableSource().add(t);
   }
 
+  /**
+   * Inserts the element in the source, before the element at the given index of the view, or at the end of the
+   * source when the index is the size of the view.
+   */
   @Override
   public void add(int index, T t) {
-    if (t instanceof NotifyPropertyChanged)
-      registerPropertyChanged((NotifyPropertyChanged) t);
+    observableSource().add(insertIndex(index), t);
+  }
 
-    if (predicate.test(t))
-      super.add(index, t);
+  @Override
+  public boolean addAll(Collection<? extends T> c) {
+    return observableSource().addAll(c);
   }
 
+  /**
+   * Inserts the elements in the source, before the element at the given index of the view, or at the end of the
+   * source when the index is the size of the view.
+   */
   @Override
   public boolean addAll(int index, Collection<? extends T> c) {
-    List<T> toAdd = new ArrayList<>();
-    for (T t : c) {
-      if (t instanceof NotifyPropertyChanged)
-        registerPropertyChanged((NotifyPropertyChanged) t);
-      if (predicate.test(t))
-        toAdd.add(t);
-    }
-
-    return super.addAll(index, toAdd);
+    return observableSource().addAll(insertIndex(index), c);
   }
 
   @Override
   public T remove(int index) {
-    T t = super.remove(index);
-    if (t != null && t instanceof NotifyPropertyChanged)
-      unRegisterPropertyChanged((NotifyPropertyChanged) t);
+    T t = get(index);
+    observableSource().remove(liveSourceIndex(index));
     return t;
   }
 
   @Override
   public boolean remove(Object o) {
-    return remove(o, true);
+    int i = indexOf(o);
+    if (i < 0)
+      return false;
+    remove(i);
+    return true;
   }
 
-  private boolean remove(Object o, boolean unregister) {
-    if (unregister && o != null && o instanceof NotifyPropertyChanged)
-      unRegisterPropertyChanged((NotifyPropertyChanged) o);
-    return super.remove(o);
+  @Override
+  public T set(int index, T element) {
+    T old = get(index);
+    observableSource().set(liveSourceIndex(index), element);
+    return old;
   }
 
   @Override
-  public boolean removeAll(Collection<?> c) {
-    for (Object o : c) {
-      if (o != null && o instanceof NotifyPropertyChanged)
-        unRegisterPropertyChanged((NotifyPropertyChanged) o);
+  public void replaceAll(UnaryOperator<T> operator) {
+    Objects.requireNonNull(operator);
+    ObservableCollection<T> target = observableSource();
+    int[] indices = new int[count];
+    List<T> elements = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      indices[i] = liveSourceIndex(i);
+      elements.add(operator.apply(get(i)));
+    }
+    try (Update update = target.beginUpdate()) {
+      for (int i = 0; i < indices.length; i++) {
+        target.set(indices[i], elements.get(i));
+      }
     }
-
-    return super.removeAll(c);
   }
 
   @Override
   public void removeRange(int fromIndex, int toIndex) {
-    for (int i = fromIndex; i < toIndex; i++) {
-      T t = get(i);
-      if (t != null && t instanceof NotifyPropertyChanged)
-        unRegisterPropertyChanged((NotifyPropertyChanged) t);
+    if (fromIndex < toIndex)
+      removeRanges(IndexRanges.range(fromIndex, toIndex));
+  }
+
+  @Override
+  public void clear() {
+    removeRange(0, count);
+  }
+
+  /**
+   * Removes the elements from the source in a single batch update. Used by removeAll, removeIf and retainAll.
+   */
+  @Override
+  protected void removeRanges(IndexRanges ranges) {
+    if (ranges.isEmpty())
+      return;
+
+    ObservableCollection<T> target = observableSource();
+    int[] indices = ranges.toArray();
+    for (int i = 0; i < indices.length; i++) {
+      indices[i] = liveSourceIndex(indices[i]);
+    }
+    Arrays.sort(indices);
+    try (Update update = target.beginUpdate()) {
+      for (int i = indices.length - 1; i >= 0; i--) {
+        target.remove(indices[i]);
+      }
+    }
+  }
+
+  private ObservableCollection<T> observableSource() {
+    if (!(source instanceof ObservableCollection)) {
+      throw new UnsupportedOperationException("The source of the view is not observable!");
+    }
+    return (ObservableCollection<T>) source;
+  }
+
+  /**
+   * Returns the index, in the source as it is now, of the element at the given index of the view. It differs from the
+   * source index while the changes of the source have not all been received, e.g. during a batch update.
+   */
+  private int liveSourceIndex(int index) {
+    return identityIndexNear(observableSource(), get(index), getSourceIndex(index));
+  }
+
+  private int insertIndex(int index) {
+    if (index < 0 || index > count) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+    }
+    return index == count ? observableSource().size() : liveSourceIndex(index);
+  }
+  // endregion
+
+  // ---------------------------------------------------------------------------
+  // region CollectionChangedListener implementation:
+  // ---------------------------------------------------------------------------
+  @Override
+  public void collectionChanged(CollectionChangedEvent<T> e) {
+    switch (e.getChangeType()) {
+      case ADD:
+        try (Update update = beginUpdate()) {
+          sourceAdded(e.getRanges(), e.getNewItems().iterator());
+        }
+        break;
+      case REMOVE:
+        try (Update update = beginUpdate()) {
+          sourceRemoved(e.getRanges(), e.getOldItems());
+        }
+        break;
+      case RESET:
+        reset();
+        break;
+    }
+  }
+
+  /**
+   * The ranges are ascending and expressed in the source after the addition, so processing them in order
+   * leaves the indices of the ranges still to process valid.
+   */
+  private void sourceAdded(IndexRanges ranges, Iterator<? extends T> items) {
+    for (int r = 0; r < ranges.getRangeCount(); r++) {
+      int from = ranges.getFrom(r);
+      int to = ranges.getTo(r);
+      int at = lowerBound(from);
+      List<T> inserted = new ArrayList<>(to - from);
+      List<T> added = new ArrayList<>();
+      int[] indices = new int[to - from];
+      for (int i = from; i < to; i++) {
+        T t = items.next();
+        inserted.add(t);
+        registerPropertyChanged(t, i);
+        if (predicate.test(t)) {
+          indices[added.size()] = i;
+          added.add(t);
+        }
+      }
+      sourceElements.addAll(from, inserted);
+
+      shift(at, to - from);
+      insertIndices(at, indices, added.size());
+      super.addAll(at, added);
+    }
+  }
+
+  /**
+   * The ranges are ascending and expressed in the source before the removal, so they are processed in reverse order.
+   */
+  private void sourceRemoved(IndexRanges ranges, Collection<? extends T> items) {
+    for (T t : items) {
+      unregisterPropertyChanged(t);
+    }
+
+    for (int r = ranges.getRangeCount() - 1; r >= 0; r--) {
+      int from = ranges.getFrom(r);
+      int to = ranges.getTo(r);
+      int lo = lowerBound(from);
+      int hi = lowerBound(to);
+      sourceElements.subList(from, to).clear();
+      removeIndices(lo, hi);
+      shift(lo, from - to);
+      if (lo < hi) {
+        super.removeRange(lo, hi);
+      }
     }
-    super.removeRange(fromIndex, toIndex);
   }
+  // endregion
 
   // ---------------------------------------------------------------------------
   // region PropertyChangeListener:
   // ---------------------------------------------------------------------------
+  /**
+   * The changed element is looked up in the source from the index it was last seen at. An element that is in the
+   * source several times is looked up everywhere.
+   */
   @Override
   public void propertyChange(PropertyChangeEvent evt) {
     T t = (T) evt.getSource();
-    if (predicate.test(t) && !contains(t))
-      add(t);
-    else
-      remove(t, false);
+    Tracked entry = tracked.get(t);
+    if (entry == null)
+      return;
+
+    boolean matches = predicate.test(t);
+    if (entry.count == 1) {
+      int sourceIndex = identityIndexNear(sourceElements, t, entry.sourceIndex);
+      if (sourceIndex >= 0) {
+        entry.sourceIndex = sourceIndex;
+        update(sourceIndex, t, matches);
+      }
+      return;
+    }
+
+    int sourceIndex = 0;
+    for (T s : sourceElements) {
+      if (s == t) {
+        update(sourceIndex, t, matches);
+      }
+      sourceIndex++;
+    }
+  }
+
+  private void update(int sourceIndex, T t, boolean matches) {
+    int i = Arrays.binarySearch(sourceIndices, 0, count, sourceIndex);
+    if (i >= 0 && !matches) {
+      removeIndices(i, i + 1);
+      super.remove(i);
+    } else if (i < 0 && matches) {
+      int at = -i - 1;
+      insertIndices(at, new int[]{sourceIndex}, 1);
+      super.add(at, t);
+    }
+  }
+
+  /**
+   * Listens once to each distinct element of the source, and remembers the source index it was last seen at.
+   */
+  private void registerPropertyChanged(T t, int sourceIndex) {
+    if (!(t instanceof NotifyPropertyChanged)) {
+      return;
+    }
+    Tracked entry = tracked.get(t);
+    if (entry == null) {
+      entry = new Tracked();
+      tracked.put(t, entry);
+      NotifyPropertyChanged notifyPropertyChanged = (NotifyPropertyChanged) t;
+      if (propertyName == null)
+        notifyPropertyChanged.addPropertyChangeListener(this);
+      else
+        notifyPropertyChanged.addPropertyChangeListener(propertyName, this);
+    }
+    entry.count++;
+    entry.sourceIndex = sourceIndex;
+  }
+
+  private void unregisterPropertyChanged(T t) {
+    Tracked entry = tracked.get(t);
+    if (entry != null && --entry.count == 0) {
+      tracked.remove(t);
+      removePropertyChangeListener(t);
+    }
   }
 
-  private void unRegisterPropertyChanged(NotifyPropertyChanged notifyPropertyChanged) {
+  private void removePropertyChangeListener(T t) {
+    NotifyPropertyChanged notifyPropertyChanged = (NotifyPropertyChanged) t;
     if (propertyName == null)
       notifyPropertyChanged.removePropertyChangeListener(this);
     else
       notifyPropertyChanged.removePropertyChangeListener(propertyName, this);
   }
 
-  private void registerPropertyChanged(NotifyPropertyChanged notifyPropertyChanged) {
-    if (propertyName == null)
-      notifyPropertyChanged.addPropertyChangeListener(this);
-    else
-      notifyPropertyChanged.addPropertyChangeListener(propertyName, this);
+  private static class Tracked {
+    private int count;
+    private int sourceIndex;
+  }
+  // endregion
+
+  // ---------------------------------------------------------------------------
+  // region Source index mapping:
+  // ---------------------------------------------------------------------------
+  /**
+   * Returns the index of the first element of the view whose source index is greater or equal to sourceIndex.
+   */
+  private int lowerBound(int sourceIndex) {
+    int i = Arrays.binarySearch(sourceIndices, 0, count, sourceIndex);
+    return i >= 0 ? i : -i - 1;
+  }
+
+  private void shift(int from, int delta) {
+    for (int i = from; i < count; i++) {
+      sourceIndices[i] += delta;
+    }
+  }
+
+  private void insertIndices(int at, int[] indices, int length) {
+    if (length == 0) {
+      return;
+    }
+    if (count + length > sourceIndices.length) {
+      sourceIndices = Arrays.copyOf(sourceIndices, Math.max(count + length, sourceIndices.length * 3 / 2 + 1));
+    }
+    System.arraycopy(sourceIndices, at, sourceIndices, at + length, count - at);
+    System.arraycopy(indices, 0, sourceIndices, at, length);
+    count += length;
+  }
+
+  private void removeIndices(int from, int to) {
+    System.arraycopy(sourceIndices, to, sourceIndices, from, count - to);
+    count -= to - from;
   }
   // endregion
 }
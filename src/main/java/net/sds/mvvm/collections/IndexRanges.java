@@ -0,0 +1,254 @@
+/*
+ * Copyright 2020 Serge de Schaetzen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package net.sds.mvvm.collections;
+
+import java.util.Arrays;
+
+/**
+ * Immutable, ascending set of indices, encoded as contiguous ranges. Used by CollectionChangedEvents to describe
+ * the added or removed rows without allocating an entry per row.
+ */
+public final class IndexRanges {
+  private static final IndexRanges EMPTY = new IndexRanges(new int[0], 0);
+
+  // from0, to0, from1, to1, ... The 'to' values are exclusive.
+  private final int[] bounds;
+  private final int size;
+
+  private IndexRanges(int[] bounds, int size) {
+    this.bounds = bounds;
+    this.size = size;
+  }
+
+  /**
+   * Returns the ranges containing the indices from (inclusive) to to (exclusive).
+   * @param from The first index.
+   * @param to The end index (exclusive).
+   * @return The ranges.
+   */
+  public static IndexRanges range(int from, int to) {
+    if (to <= from) {
+      return EMPTY;
+    }
+    return new IndexRanges(new int[]{from, to}, to - from);
+  }
+
+  /**
+   * Returns the ranges containing the given, ascending, indices.
+   * @param indices The indices.
+   * @return The ranges.
+   */
+  public static IndexRanges of(int... indices) {
+    Builder builder = new Builder();
+    for (int i : indices) {
+      builder.add(i);
+    }
+    return builder.build();
+  }
+
+  /**
+   * Returns the total number of indices.
+   * @return The number of indices.
+   */
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Returns the number of contiguous ranges.
+   * @return The number of ranges.
+   */
+  public int getRangeCount() {
+    return bounds.length / 2;
+  }
+
+  /**
+   * Returns the first index of a range.
+   * @param range The range number.
+   * @return The first index (inclusive).
+   */
+  public int getFrom(int range) {
+    return bounds[range * 2];
+  }
+
+  /**
+   * Returns the end of a range.
+   * @param range The range number.
+   * @return The end index (exclusive).
+   */
+  public int getTo(int range) {
+    return bounds[range * 2 + 1];
+  }
+
+  /**
+   * Returns all indices.
+   * @return The indices in ascending order.
+   */
+  public int[] toArray() {
+    int[] result = new int[size];
+    int n = 0;
+    for (int r = 0; r < bounds.length; r += 2) {
+      for (int i = bounds[r]; i < bounds[r + 1]; i++) {
+        result[n++] = i;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns the last index.
+   * @return The last index, or -1 if empty.
+   */
+  int last() {
+    return size == 0 ? -1 : bounds[bounds.length - 1] - 1;
+  }
+
+  /**
+   * Maps indices to the index space that also contains the given indices: other is expressed in the space without
+   * the indices of base, the result is the position of those same indices when the indices of base are present.
+   * @param base The indices that were left out of the index space of other.
+   * @param other The indices to map.
+   * @return The mapped indices, disjoint from base.
+   */
+  static IndexRanges map(IndexRanges base, IndexRanges other) {
+    if (base.isEmpty() || other.isEmpty() || other.last() < base.bounds[0]) {
+      return other;
+    }
+
+    Builder builder = new Builder();
+    int b = 0;
+    int shift = 0;
+    for (int r = 0; r < other.bounds.length; r += 2) {
+      int x = other.bounds[r];
+      int to = other.bounds[r + 1];
+      while (x < to) {
+        while (b < base.bounds.length && base.bounds[b] <= x + shift) {
+          shift += base.bounds[b + 1] - base.bounds[b];
+          b += 2;
+        }
+        int end = b < base.bounds.length ? Math.min(to, base.bounds[b] - shift) : to;
+        builder.add(x + shift, end + shift);
+        x = end;
+      }
+    }
+    return builder.build();
+  }
+
+  /**
+   * Returns the union of two disjoint IndexRanges.
+   * @param a The first ranges.
+   * @param b The second ranges.
+   * @return The union.
+   */
+  static IndexRanges union(IndexRanges a, IndexRanges b) {
+    if (a.isEmpty()) {
+      return b;
+    }
+    if (b.isEmpty()) {
+      return a;
+    }
+    Builder builder = new Builder();
+    int i = 0;
+    int j = 0;
+    while (i < a.bounds.length || j < b.bounds.length) {
+      if (j >= b.bounds.length || (i < a.bounds.length && a.bounds[i] < b.bounds[j])) {
+        builder.add(a.bounds[i], a.bounds[i + 1]);
+        i += 2;
+      } else {
+        builder.add(b.bounds[j], b.bounds[j + 1]);
+        j += 2;
+      }
+    }
+    return builder.build();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return o instanceof IndexRanges && Arrays.equals(bounds, ((IndexRanges) o).bounds);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(bounds);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("{");
+    for (int r = 0; r < bounds.length; r += 2) {
+      if (r > 0) {
+        sb.append(", ");
+      }
+      sb.append('[').append(bounds[r]).append(", ").append(bounds[r + 1]).append(')');
+    }
+    return sb.append("}").toString();
+  }
+
+  /**
+   * Builds IndexRanges from ascending indices or ranges. Adjacent ranges are joined.
+   */
+  public static class Builder {
+    private int[] bounds = new int[8];
+    private int length;
+    private int size;
+
+    /**
+     * Adds an index, which must be greater than all indices added before.
+     * @param index The index.
+     * @return This builder.
+     */
+    public Builder add(int index) {
+      return add(index, index + 1);
+    }
+
+    /**
+     * Adds the range from (inclusive) to (exclusive), which must be after all ranges added before.
+     * @param from The first index.
+     * @param to The end index (exclusive).
+     * @return This builder.
+     */
+    public Builder add(int from, int to) {
+      if (to <= from) {
+        return this;
+      }
+      if (length > 0 && from < bounds[length - 1]) {
+        throw new IllegalArgumentException(String.format("Index %d is not ascending!", from));
+      }
+      if (length > 0 && bounds[length - 1] == from) {
+        bounds[length - 1] = to;
+      } else {
+        if (length == bounds.length) {
+          bounds = Arrays.copyOf(bounds, length * 2);
+        }
+        bounds[length++] = from;
+        bounds[length++] = to;
+      }
+      size += to - from;
+      return this;
+    }
+
+    public IndexRanges build() {
+      return size == 0 ? EMPTY : new IndexRanges(Arrays.copyOf(bounds, length), size);
+    }
+  }
+}
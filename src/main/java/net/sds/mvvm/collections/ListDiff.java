@@ -0,0 +1,130 @@
+/*
+ * Copyright 2020 Serge de Schaetzen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package net.sds.mvvm.collections;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Computes a minimal edit script between two lists, using the Myers difference algorithm.
+ * The script is expressed as the indices removed from the old list, followed by the indices added in the new list.
+ */
+final class ListDiff {
+  private final IndexRanges removed;
+  private final IndexRanges added;
+
+  private ListDiff(IndexRanges removed, IndexRanges added) {
+    this.removed = removed;
+    this.added = added;
+  }
+
+  /**
+   * Returns the indices of the old list that are not part of the new one.
+   * @return The removed indices.
+   */
+  IndexRanges getRemoved() {
+    return removed;
+  }
+
+  /**
+   * Returns the indices of the new list, once the removed elements are gone, that are not part of the old one.
+   * @return The added indices.
+   */
+  IndexRanges getAdded() {
+    return added;
+  }
+
+  /**
+   * Computes the differences between two lists. The elements are compared with equals.
+   * @param a The old list.
+   * @param b The new list.
+   * @param maxEdits The maximum number of removals and additions to look for.
+   * @return The differences, or null if there are more than maxEdits.
+   */
+  static ListDiff of(List<?> a, List<?> b, int maxEdits) {
+    int start = 0;
+    int endA = a.size();
+    int endB = b.size();
+    while (start < endA && start < endB && Objects.equals(a.get(start), b.get(start)))
+      start++;
+    while (endA > start && endB > start && Objects.equals(a.get(endA - 1), b.get(endB - 1))) {
+      endA--;
+      endB--;
+    }
+
+    int n = endA - start;
+    int m = endB - start;
+    int max = Math.min(n + m, maxEdits);
+    int offset = max + 1;
+    int[] v = new int[2 * max + 3];
+    List<int[]> trace = new ArrayList<>();
+    for (int d = 0; d <= max; d++) {
+      trace.add(Arrays.copyOfRange(v, offset - d - 1, offset + d + 2));
+      for (int k = -d; k <= d; k += 2) {
+        int x = k == -d || (k != d && v[offset + k - 1] < v[offset + k + 1]) ? v[offset + k + 1] : v[offset + k - 1] + 1;
+        int y = x - k;
+        while (x < n && y < m && Objects.equals(a.get(start + x), b.get(start + y))) {
+          x++;
+          y++;
+        }
+        v[offset + k] = x;
+        if (x >= n && y >= m)
+          return backtrack(trace, n, m, start);
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Walks the furthest reaching paths back from the end, collecting the removals and additions in reverse order.
+   */
+  private static ListDiff backtrack(List<int[]> trace, int n, int m, int start) {
+    int[] removed = new int[n];
+    int[] added = new int[m];
+    int removedCount = 0;
+    int addedCount = 0;
+    int x = n;
+    int y = m;
+    for (int d = trace.size() - 1; d > 0; d--) {
+      int[] v = trace.get(d);
+      int k = x - y;
+      // v holds the paths of round d - 1, for diagonals -d - 1 to d + 1.
+      int prevK = k == -d || (k != d && v[k - 1 + d + 1] < v[k + 1 + d + 1]) ? k + 1 : k - 1;
+      int prevX = v[prevK + d + 1];
+      int prevY = prevX - prevK;
+      if (prevK == k - 1)
+        removed[removedCount++] = start + prevX;
+      else
+        added[addedCount++] = start + prevY;
+      x = prevX;
+      y = prevY;
+    }
+
+    return new ListDiff(reversed(removed, removedCount), reversed(added, addedCount));
+  }
+
+  private static IndexRanges reversed(int[] indices, int count) {
+    IndexRanges.Builder builder = new IndexRanges.Builder();
+    for (int i = count - 1; i >= 0; i--)
+      builder.add(indices[i]);
+    return builder.build();
+  }
+}
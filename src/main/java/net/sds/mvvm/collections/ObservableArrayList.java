@@ -17,17 +17,30 @@
 
 package net.sds.mvvm.collections;
 
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
 import java.util.function.Predicate;
 import java.util.function.UnaryOperator;
+import net.sds.mvvm.collections.CollectionChangedEvent.ChangeType;
+import net.sds.mvvm.NotifyPropertyChanged;
+import net.sds.mvvm.utils.ListenerList;
+import net.sds.mvvm.utils.PropagationScheduler;
 
 public class ObservableArrayList<T> extends ArrayList<T> implements ObservableCollection<T> {
-  private Set<CollectionChangedListener<T>> listeners = new HashSet<>();
+  private final ListenerList<CollectionChangedListener<T>> listeners = new ListenerList<>();
+  private CollectionChangedEventBuffer<T> buffer;
+  private int updateCount;
+  private ElementTracker tracker;
 
   public ObservableArrayList() {
   }
@@ -52,7 +65,7 @@ public class ObservableArrayList<T> extends ArrayList<T> implements ObservableCo
   public boolean add(T e) {
     boolean result = super.add(e);
     if (result)
-      notifyListeners(new CollectionElementsAddedEvent(this, Arrays.asList(e), new int[]{size() - 1}));
+      notifyListeners(new CollectionElementsAddedEvent<>(this, Collections.singletonList(e), IndexRanges.range(size() - 1, size())));
 
     return result;
   }
@@ -62,10 +75,8 @@ public class ObservableArrayList<T> extends ArrayList<T> implements ObservableCo
     int offset = super.size();
     boolean result = super.addAll(c);
     if (result) {
-      int[] indices = new int[c.size()];
-      for (int i = 0; i < c.size(); i++)
-        indices[i] = offset + i;
-      notifyListeners(new CollectionElementsAddedEvent(this, c, indices));
+      // The caller may change (or be) c afterwards, so the event refers to a copy.
+      notifyListeners(new CollectionElementsAddedEvent<>(this, snapshot(offset, size()), IndexRanges.range(offset, size())));
     }
 
     return result;
@@ -74,17 +85,16 @@ public class ObservableArrayList<T> extends ArrayList<T> implements ObservableCo
   @Override
   public void add(int index, T e) {
     super.add(index, e);
-    notifyListeners(new CollectionElementsAddedEvent(this, Arrays.asList(e), new int[]{index}));
+    notifyListeners(new CollectionElementsAddedEvent<>(this, Collections.singletonList(e), IndexRanges.range(index, index + 1)));
   }
 
   @Override
   public boolean addAll(int index, Collection<? extends T> c) {
+    int size = size();
     boolean result = super.addAll(index, c);
     if (result) {
-      int[] indices = new int[c.size()];
-      for (int i = 0; i < c.size(); i++)
-        indices[i] = index + i;
-      notifyListeners(new CollectionElementsAddedEvent<>(this, c, indices));
+      int to = index + size() - size;
+      notifyListeners(new CollectionElementsAddedEvent<>(this, snapshot(index, to), IndexRanges.range(index, to)));
     }
     return result;
   }
@@ -93,68 +103,99 @@ public class ObservableArrayList<T> extends ArrayList<T> implements ObservableCo
   @Override
   public boolean remove(Object o) {
     int i = indexOf(o);
-    boolean result = super.remove(o);
-    if (result)
-      notifyListeners(new CollectionElementsRemovedEvent<>(this, Arrays.asList((T) o), new int[]{i}));
+    if (i < 0)
+      return false;
 
-    return result;
+    T t = super.remove(i);
+    notifyListeners(new CollectionElementsRemovedEvent<>(this, Collections.singletonList(t), IndexRanges.range(i, i + 1)));
+    return true;
   }
 
   @Override
   public T remove(int index) {
     T t = super.remove(index);
     if (t != null)
-      notifyListeners(new CollectionElementsRemovedEvent<>(this, Arrays.asList(t), new int[]{index}));
+      notifyListeners(new CollectionElementsRemovedEvent<>(this, Collections.singletonList(t), IndexRanges.range(index, index + 1)));
     return t;
   }
 
   @Override
   public boolean removeAll(Collection<?> c) {
-    boolean result = super.removeAll(c);
-    if (result)
-      notifyListeners(new CollectionResetEvent<>(this));
-    return result;
+    Objects.requireNonNull(c);
+    return removeMatching(c::contains);
   }
 
   @Override
   public boolean removeIf(Predicate<? super T> filter) {
-    boolean result = super.removeIf(filter);
-    if (result)
-      notifyListeners(new CollectionResetEvent<>(this));
-    return result;
+    Objects.requireNonNull(filter);
+    return removeMatching(filter);
   }
 
   @Override
   public void removeRange(int fromIndex, int toIndex) {
+    if (!isObserved() || toIndex <= fromIndex) {
+      super.removeRange(fromIndex, toIndex);
+      return;
+    }
+
+    List<T> old = snapshot(fromIndex, toIndex);
     super.removeRange(fromIndex, toIndex);
-    notifyListeners(new CollectionResetEvent<>(this));
+    notifyListeners(new CollectionElementsRemovedEvent<>(this, old, IndexRanges.range(fromIndex, toIndex)));
+  }
+
+  @Override
+  public T set(int index, T element) {
+    T old = super.set(index, element);
+    if (old != element && isObserved()) {
+      IndexRanges ranges = IndexRanges.range(index, index + 1);
+      notifyListeners(new CollectionElementsRemovedEvent<>(this, Collections.singletonList(old), ranges));
+      notifyListeners(new CollectionElementsAddedEvent<>(this, Collections.singletonList(element), ranges));
+    }
+    return old;
   }
 
   @Override
   public void replaceAll(UnaryOperator<T> operator) {
-    super.replaceAll(operator);
-    notifyListeners(new CollectionResetEvent<>(this));
+    Objects.requireNonNull(operator);
+    int size = size();
+    IndexRanges.Builder indices = new IndexRanges.Builder();
+    List<T> oldItems = new ArrayList<>();
+    List<T> newItems = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      T old = get(i);
+      T t = operator.apply(old);
+      if (t != old) {
+        super.set(i, t);
+        indices.add(i);
+        oldItems.add(old);
+        newItems.add(t);
+      }
+    }
+
+    if (!oldItems.isEmpty()) {
+      IndexRanges ranges = indices.build();
+      notifyListeners(new CollectionElementsRemovedEvent<>(this, oldItems, ranges));
+      notifyListeners(new CollectionElementsAddedEvent<>(this, newItems, ranges));
+    }
   }
 
   @Override
   public boolean retainAll(Collection<?> c) {
-    boolean result = super.retainAll(c);
-    if (result)
-      notifyListeners(new CollectionResetEvent<>(this));
-    return result;
+    Objects.requireNonNull(c);
+    return removeMatching(o -> !c.contains(o));
   }
 
   @Override
   public void clear() {
     int size = size();
-    Collection<T> old = new ArrayList<>(size());
-    old.addAll(this);
-    int[] indices = new int[size()];
-    for (int i = 0; i < indices.length; i++)
-      indices[i] = i;
+    if (!isObserved() || size == 0) {
+      super.clear();
+      return;
+    }
+
+    List<T> old = snapshot(0, size);
     super.clear();
-    if (size > 0)
-      notifyListeners(new CollectionElementsRemovedEvent<>(this, old, indices));
+    notifyListeners(new CollectionElementsRemovedEvent<>(this, old, IndexRanges.range(0, size)));
   }
   // endregion
 
@@ -170,10 +211,213 @@ public class ObservableArrayList<T> extends ArrayList<T> implements ObservableCo
   public void removeListener(CollectionChangedListener<T> l) {
     listeners.remove(l);
   }
+
+  @Override
+  public void setElementTracking(boolean enabled) {
+    if (enabled && tracker == null) {
+      tracker = new ElementTracker();
+      tracker.changed(new CollectionElementsAddedEvent<>(this, this, IndexRanges.range(0, size())));
+    } else if (!enabled && tracker != null) {
+      tracker.untrackAll();
+      tracker = null;
+    }
+  }
+
+  @Override
+  public boolean isElementTracking() {
+    return tracker != null;
+  }
+
+  @Override
+  public Update beginUpdate() {
+    if (updateCount++ == 0 && buffer == null) {
+      buffer = new CollectionChangedEventBuffer<>(this);
+    }
+    return this::endUpdate;
+  }
+
+  @Override
+  public void endUpdate() {
+    if (updateCount == 0) {
+      throw new IllegalStateException("endUpdate called without beginUpdate!");
+    }
+    if (--updateCount == 0 && !buffer.isEmpty()) {
+      for (CollectionChangedEvent<T> e : buffer.drain()) {
+        fireEvent(e);
+      }
+    }
+  }
   // endregion
 
+  /**
+   * Removes the elements at the given indices with a single pass over the list, and fires a single event.
+   * @param ranges The indices of the elements to remove.
+   */
+  protected void removeRanges(IndexRanges ranges) {
+    if (ranges.isEmpty())
+      return;
+
+    int size = size();
+    List<T> removed = new ArrayList<>(ranges.size());
+    int w = ranges.getFrom(0);
+    for (int r = 0; r < ranges.getRangeCount(); r++) {
+      int next = r + 1 < ranges.getRangeCount() ? ranges.getFrom(r + 1) : size;
+      for (int i = ranges.getFrom(r); i < ranges.getTo(r); i++)
+        removed.add(get(i));
+      for (int i = ranges.getTo(r); i < next; i++)
+        super.set(w++, get(i));
+    }
+
+    super.removeRange(w, size);
+    notifyListeners(new CollectionElementsRemovedEvent<>(this, removed, ranges));
+  }
+
+  /**
+   * Removes all elements matching the filter, and fires a single event containing the removed elements and their
+   * (ascending) indices before the removal. The list is only changed once the filter was tested on all elements.
+   * @param filter The filter.
+   * @return True if elements were removed.
+   */
+  private boolean removeMatching(Predicate<? super T> filter) {
+    int size = size();
+    IndexRanges.Builder indices = null;
+    for (int i = 0; i < size; i++) {
+      if (filter.test(get(i))) {
+        if (indices == null)
+          indices = new IndexRanges.Builder();
+        indices.add(i);
+      }
+    }
+
+    if (indices == null)
+      return false;
+
+    removeRanges(indices.build());
+    return true;
+  }
+
+  /**
+   * Returns a copy of the elements from fromIndex (inclusive) to toIndex (exclusive), backed by a single array.
+   */
+  @SuppressWarnings("unchecked")
+  private List<T> snapshot(int fromIndex, int toIndex) {
+    return (List<T>) Arrays.asList(subList(fromIndex, toIndex).toArray());
+  }
+
+  /**
+   * Returns true if events have to be created for changes: when there are listeners, during a batch update, or when
+   * elements are tracked.
+   * @return True if observed.
+   */
+  protected boolean isObserved() {
+    return updateCount > 0 || !listeners.isEmpty() || tracker != null;
+  }
+
+  /**
+   * Notifies the listeners of the change. During a batch update, the event is buffered instead.
+   * @param e The event.
+   */
   protected void notifyListeners(CollectionChangedEvent<T> e) {
-    for (CollectionChangedListener<T> l : listeners)
-      l.collectionChanged(e);
+    track(e);
+    if (updateCount > 0) {
+      buffer.add(e);
+    } else {
+      fireEvent(e);
+    }
   }
+
+  private void fireEvent(CollectionChangedEvent<T> e) {
+    PropagationScheduler.begin();
+    try {
+      listeners.fire(CollectionChangedListener::collectionChanged, e);
+    } finally {
+      PropagationScheduler.end();
+    }
+  }
+
+  /**
+   * Keeps the tracked elements up to date with the change.
+   * @param e The event describing the change.
+   */
+  void track(CollectionChangedEvent<T> e) {
+    if (tracker != null)
+      tracker.changed(e);
+  }
+
+  // ---------------------------------------------------------------------------
+  // region Element tracking:
+  // ---------------------------------------------------------------------------
+  /**
+   * Listens once to each distinct element, and remembers the last index it was seen at, so that the index can
+   * usually be verified in constant time instead of being searched.
+   */
+  private class ElementTracker implements PropertyChangeListener {
+    private final Map<T, Tracked> elements = new IdentityHashMap<>();
+
+    private void changed(CollectionChangedEvent<T> e) {
+      if (e.getChangeType() == ChangeType.ADD) {
+        Iterator<? extends T> items = e.getNewItems().iterator();
+        IndexRanges ranges = e.getRanges();
+        for (int r = 0; r < ranges.getRangeCount(); r++) {
+          for (int i = ranges.getFrom(r); i < ranges.getTo(r); i++)
+            track(items.next(), i);
+        }
+      } else if (e.getChangeType() == ChangeType.REMOVE) {
+        for (T t : e.getOldItems())
+          untrack(t);
+      }
+    }
+
+    private void track(T t, int index) {
+      if (!(t instanceof NotifyPropertyChanged))
+        return;
+      Tracked tracked = elements.get(t);
+      if (tracked == null) {
+        tracked = new Tracked();
+        elements.put(t, tracked);
+        ((NotifyPropertyChanged) t).addPropertyChangeListener(this);
+      }
+      tracked.count++;
+      tracked.index = index;
+    }
+
+    private void untrack(T t) {
+      Tracked tracked = elements.get(t);
+      if (tracked != null && --tracked.count == 0) {
+        elements.remove(t);
+        ((NotifyPropertyChanged) t).removePropertyChangeListener(this);
+      }
+    }
+
+    private void untrackAll() {
+      for (T t : elements.keySet())
+        ((NotifyPropertyChanged) t).removePropertyChangeListener(this);
+      elements.clear();
+    }
+
+    @Override
+    public void propertyChange(PropertyChangeEvent evt) {
+      T t = (T) evt.getSource();
+      Tracked tracked = elements.get(t);
+      if (tracked == null)
+        return;
+
+      if (tracked.count == 1 && tracked.index < size() && get(tracked.index) == t) {
+        notifyListeners(new CollectionElementUpdatedEvent<>(ObservableArrayList.this, t, tracked.index, evt.getPropertyName()));
+        return;
+      }
+      for (int i = 0; i < size(); i++) {
+        if (get(i) == t) {
+          tracked.index = i;
+          notifyListeners(new CollectionElementUpdatedEvent<>(ObservableArrayList.this, t, i, evt.getPropertyName()));
+        }
+      }
+    }
+  }
+
+  private static class Tracked {
+    private int count;
+    private int index;
+  }
+  // endregion
 }
@@ -30,4 +30,54 @@ public interface ObservableCollection<T> extends List<T> {
   void removeListener(CollectionChangedListener<T> l);
   void removeRange(int fromIndex, int toIndex);
   T findEntry(Predicate<T> predicate);
+
+  /**
+   * Enables or disables element tracking. While enabled, the collection listens to its NotifyPropertyChanged elements,
+   * once per element, and fires a ChangeType.UPDATE event, with the index of the element and the name of the property,
+   * whenever one of them changes. Disabled by default.
+   * Collections that don't support element tracking don't need to implement this: by default, enabling it throws.
+   * @param enabled True to enable tracking.
+   * @throws UnsupportedOperationException When tracking is enabled on a collection that doesn't support it.
+   */
+  default void setElementTracking(boolean enabled) {
+    if (enabled)
+      throw new UnsupportedOperationException(String.format("%s does not support element tracking!", getClass().getName()));
+  }
+
+  /**
+   * Returns true if element tracking is enabled.
+   * @return True if enabled.
+   */
+  default boolean isElementTracking() {
+    return false;
+  }
+
+  /**
+   * Starts a batch update. Until the matching {@link #endUpdate()}, change events are not fired but buffered.
+   * When the update ends, the buffered events are coalesced and fired. Updates can be nested, the events are
+   * fired when the outermost update ends.
+   * Collections that don't buffer their events don't need to implement this: by default, the events are fired as
+   * the changes are made.
+   * @return An Update that ends the update when closed, allowing it to be used in a try-with-resources.
+   */
+  default Update beginUpdate() {
+    return this::endUpdate;
+  }
+
+  /**
+   * Ends a batch update started with {@link #beginUpdate()}.
+   */
+  default void endUpdate() {
+  }
+
+  /**
+   * Handle returned by {@link #beginUpdate()}.
+   */
+  interface Update extends AutoCloseable {
+    /**
+     * Ends the update.
+     */
+    @Override
+    void close();
+  }
 }
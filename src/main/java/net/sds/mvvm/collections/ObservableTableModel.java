@@ -0,0 +1,210 @@
+/*
+ * Copyright 2020 Serge de Schaetzen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package net.sds.mvvm.collections;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * TableModel showing the elements of an ObservableCollection, one row per element. The columns are defined with
+ * accessors on the elements. Changes to the collection are forwarded to the table for the exact rows affected,
+ * so that only those are repainted. When element tracking is enabled on the collection, a property change of an
+ * element only updates the matching cell.
+ * @param <T>
+ */
+public class ObservableTableModel<T> extends AbstractTableModel {
+  private final List<Column<T>> columns = new ArrayList<>();
+  private final CollectionChangedListener<T> listener = this::collectionChanged;
+  private ObservableCollection<T> collection;
+
+  public ObservableTableModel(ObservableCollection<T> collection) {
+    setCollection(collection);
+  }
+
+  /**
+   * Adds a read-only column.
+   * @param name The name of the column.
+   * @param type The type of the values of the column.
+   * @param getter Returns the value of the column for an element.
+   * @return This model.
+   */
+  public <V> ObservableTableModel<T> addColumn(String name, Class<V> type, Function<? super T, ? extends V> getter) {
+    return addColumn(name, type, getter, null);
+  }
+
+  /**
+   * Adds an editable column.
+   * @param name The name of the column.
+   * @param type The type of the values of the column.
+   * @param getter Returns the value of the column for an element.
+   * @param setter Sets the value of the column on an element.
+   * @return This model.
+   */
+  public <V> ObservableTableModel<T> addColumn(String name, Class<V> type, Function<? super T, ? extends V> getter,
+      BiConsumer<? super T, ? super V> setter) {
+    return addColumn(name, name, type, getter, setter);
+  }
+
+  /**
+   * Adds an editable column, showing the given property of the elements. When element tracking is enabled on the
+   * collection, a change of that property only updates the cell of this column.
+   * @param name The name of the column.
+   * @param propertyName The name of the property shown, compared ignoring case.
+   * @param type The type of the values of the column.
+   * @param getter Returns the value of the column for an element.
+   * @param setter Sets the value of the column on an element, or null if the column is read-only.
+   * @return This model.
+   */
+  public <V> ObservableTableModel<T> addColumn(String name, String propertyName, Class<V> type,
+      Function<? super T, ? extends V> getter, BiConsumer<? super T, ? super V> setter) {
+    columns.add(new Column<>(name, propertyName, type, getter, (BiConsumer<? super T, Object>) setter));
+    fireTableStructureChanged();
+    return this;
+  }
+
+  /**
+   * Returns the collection shown.
+   * @return The collection.
+   */
+  public ObservableCollection<T> getCollection() {
+    return collection;
+  }
+
+  /**
+   * Sets the collection to show.
+   * @param collection The collection.
+   */
+  public void setCollection(ObservableCollection<T> collection) {
+    if (this.collection != null)
+      this.collection.removeListener(listener);
+    this.collection = collection;
+    if (collection != null)
+      collection.addListener(listener);
+    fireTableDataChanged();
+  }
+
+  /**
+   * Returns the element shown at the given row.
+   * @param row The row.
+   * @return The element.
+   */
+  public T getRow(int row) {
+    return collection.get(row);
+  }
+
+  private void collectionChanged(CollectionChangedEvent<T> e) {
+    IndexRanges ranges = e.getRanges();
+    switch (e.getChangeType()) {
+      case ADD:
+        // Ranges are expressed in the collection after the change, so rows are inserted in ascending order.
+        for (int r = 0; r < ranges.getRangeCount(); r++)
+          fireTableRowsInserted(ranges.getFrom(r), ranges.getTo(r) - 1);
+        break;
+      case REMOVE:
+        // Ranges are expressed in the collection before the change, so rows are deleted in descending order.
+        for (int r = ranges.getRangeCount() - 1; r >= 0; r--)
+          fireTableRowsDeleted(ranges.getFrom(r), ranges.getTo(r) - 1);
+        break;
+      case RESET:
+        fireTableDataChanged();
+        break;
+      case UPDATE:
+        int row = ranges.getFrom(0);
+        int column = columnOf(((CollectionElementUpdatedEvent<T>) e).getPropertyName());
+        if (column >= 0)
+          fireTableCellUpdated(row, column);
+        else
+          fireTableRowsUpdated(row, row);
+        break;
+    }
+  }
+
+  private int columnOf(String propertyName) {
+    if (propertyName == null)
+      return -1;
+    for (int i = 0; i < columns.size(); i++) {
+      if (propertyName.equalsIgnoreCase(columns.get(i).propertyName))
+        return i;
+    }
+    return -1;
+  }
+
+  // ---------------------------------------------------------------------------
+  // region TableModel implementation:
+  // ---------------------------------------------------------------------------
+  @Override
+  public int getRowCount() {
+    return collection == null ? 0 : collection.size();
+  }
+
+  @Override
+  public int getColumnCount() {
+    return columns.size();
+  }
+
+  @Override
+  public String getColumnName(int column) {
+    return columns.get(column).name;
+  }
+
+  @Override
+  public Class<?> getColumnClass(int column) {
+    return columns.get(column).type;
+  }
+
+  @Override
+  public boolean isCellEditable(int row, int column) {
+    return columns.get(column).setter != null;
+  }
+
+  @Override
+  public Object getValueAt(int row, int column) {
+    return columns.get(column).getter.apply(collection.get(row));
+  }
+
+  @Override
+  public void setValueAt(Object value, int row, int column) {
+    Column<T> c = columns.get(column);
+    if (c.setter != null) {
+      c.setter.accept(collection.get(row), value);
+      fireTableCellUpdated(row, column);
+    }
+  }
+  // endregion
+
+  private static class Column<T> {
+    private final String name;
+    private final String propertyName;
+    private final Class<?> type;
+    private final Function<? super T, ?> getter;
+    private final BiConsumer<? super T, Object> setter;
+
+    private Column(String name, String propertyName, Class<?> type, Function<? super T, ?> getter,
+        BiConsumer<? super T, Object> setter) {
+      this.name = name;
+      this.propertyName = propertyName;
+      this.type = type;
+      this.getter = getter;
+      this.setter = setter;
+    }
+  }
+}
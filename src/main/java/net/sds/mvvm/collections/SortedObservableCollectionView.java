@@ -17,16 +17,30 @@
 
 package net.sds.mvvm.collections;
 
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import net.sds.mvvm.NotifyPropertyChanged;
+import net.sds.mvvm.collections.ObservableCollection.Update;
 import net.sds.mvvm.utils.EventSuppressor;
 
 /**
  * Wraps an ObservableCollection and offers a view that will always be sorted using the Comparator given. Note that this is a view, so all changes
  * made to this view will be reflected in the wrapped collection.
+ * When a NotifyPropertyChanged element changes, only that element is moved to its new position.
  */
-public class SortedObservableCollectionView<T> extends AbstractObservableCollectionView<T> {
+public class SortedObservableCollectionView<T> extends AbstractObservableCollectionView<T> implements PropertyChangeListener {
+  private static final int PARALLEL_SORT_THRESHOLD = 1 << 13;
+  private static final int MAX_BINARY_INSERTS = 8;
+  private final Map<T, Tracked> tracked = new IdentityHashMap<>();
   private Comparator<T> comparator;
 
   public SortedObservableCollectionView(ObservableCollection<T> source, Comparator<T> comparator) {
@@ -34,6 +48,37 @@ public class SortedObservableCollectionView<T> extends AbstractObservableCollect
     this.comparator = comparator;
   }
 
+  /**
+   * Locates the element with a binary search on its sort key, then looks for it within the elements with an equal key.
+   * Falls back to a linear search when the element is not found there, e.g. when its key changed without notification.
+   */
+  @Override
+  protected int viewIndexOf(Object o, BitSet located) {
+    T t = (T) o;
+    int low = 0;
+    int high = size();
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (comparator.compare(get(mid), t) < 0)
+        low = mid + 1;
+      else
+        high = mid;
+    }
+    for (int i = low; i < size() && comparator.compare(get(i), t) == 0; i++) {
+      if (!located.get(i) && Objects.equals(o, get(i)))
+        return i;
+    }
+    return super.viewIndexOf(o, located);
+  }
+
+  @Override
+  protected void sourceRemoved(Collection<? extends T> items) {
+    for (T t : items) {
+      unregisterPropertyChanged(t);
+    }
+    super.sourceRemoved(items);
+  }
+
   private int insertIndexOf(T t) {
     int low = 0;
     int high = size() - 1;
@@ -55,14 +100,24 @@ public class SortedObservableCollectionView<T> extends AbstractObservableCollect
   // ---------------------------------------------------------------------------
   // region Overrides:
   // ---------------------------------------------------------------------------
+  @Override
+  protected void reset() {
+    for (T t : this) {
+      unregisterPropertyChanged(t);
+    }
+    super.reset();
+  }
+
   @Override
   public boolean add(T t) {
+    registerPropertyChanged(t);
     addSorted(t);
     return true;
   }
 
   @Override
   public void add(int index, T e) {
+    registerPropertyChanged(e);
     addSorted(e);
   }
 
@@ -71,6 +126,7 @@ public class SortedObservableCollectionView<T> extends AbstractObservableCollect
     if (i < 0)
       i = 0;
     super.add(i, t);
+    seenAt(t, i);
     return i;
   }
 
@@ -79,25 +135,217 @@ public class SortedObservableCollectionView<T> extends AbstractObservableCollect
     return addAll(0, c);
   }
 
+  /**
+   * Sorts the added elements and inserts them into the view, firing a single event.
+   * A few elements are inserted one by one at the position found with a binary search, as each insertion only shifts
+   * the elements after it. More elements are merged with the view in a single pass.
+   * Elements that compare equal to elements already in the view are placed after them.
+   */
   @Override
   public boolean addAll(int index, Collection<? extends T> c) {
-    int[] indices = new int[c.size()];
-    try (EventSuppressor suppressor = openSuppressor()) {
-      int i = 0;
-      for (T t : c) {
-        indices[i++] = addSorted(t);
-      }
+    if (c.isEmpty())
+      return false;
+
+    T[] batch = (T[]) c.toArray();
+    for (T t : batch) {
+      registerPropertyChanged(t);
     }
-    notifyListeners(new CollectionElementsAddedEvent<>(this, c, indices));
+    if (batch.length >= PARALLEL_SORT_THRESHOLD)
+      Arrays.parallelSort(batch, comparator);
+    else
+      Arrays.sort(batch, comparator);
+
+    if (batch.length <= MAX_BINARY_INSERTS)
+      insertAll(batch);
+    else
+      mergeAll(batch);
     return true;
   }
 
+  /**
+   * The elements are sorted, so each one is inserted after the previous one, and the buffered events are coalesced.
+   */
+  private void insertAll(T[] batch) {
+    try (Update update = beginUpdate()) {
+      for (T t : batch) {
+        int i = upperBound(t);
+        super.add(i, t);
+        seenAt(t, i);
+      }
+    }
+  }
+
+  private void mergeAll(T[] batch) {
+    T[] existing = (T[]) toArray();
+    Object[] merged = new Object[existing.length + batch.length];
+    IndexRanges.Builder indices = new IndexRanges.Builder();
+    int i = 0;
+    int j = 0;
+    for (int k = 0; k < merged.length; k++) {
+      if (j < batch.length && (i == existing.length || comparator.compare(batch[j], existing[i]) < 0)) {
+        merged[k] = batch[j];
+        seenAt(batch[j++], k);
+        indices.add(k);
+      } else {
+        merged[k] = existing[i++];
+      }
+    }
+
+    try (EventSuppressor suppressor = openSuppressor()) {
+      super.clear();
+      super.addAll(0, (List<T>) Arrays.asList(merged));
+    }
+    notifyListeners(new CollectionElementsAddedEvent<>(this, Arrays.asList(batch), indices.build()));
+  }
+
+  /**
+   * Returns the index after the last element comparing lower or equal to t.
+   */
+  private int upperBound(T t) {
+    int low = 0;
+    int high = size();
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (comparator.compare(get(mid), t) <= 0)
+        low = mid + 1;
+      else
+        high = mid;
+    }
+    return low;
+  }
+
   @Override
   public T set(int index, T element) {
-    T result = super.set(index, element);
-    Collections.sort(this, comparator);
-    notifyListeners(new CollectionResetEvent(this));
+    T result = remove(index);
+    add(element);
     return result;
   }
+
+  @Override
+  public T remove(int index) {
+    T t = super.remove(index);
+    unregisterPropertyChanged(t);
+    return t;
+  }
+
+  @Override
+  public boolean remove(Object o) {
+    boolean removed = super.remove(o);
+    if (removed)
+      unregisterPropertyChanged(o);
+    return removed;
+  }
+  // endregion
+
+  // ---------------------------------------------------------------------------
+  // region PropertyChangeListener:
+  // ---------------------------------------------------------------------------
+  /**
+   * The changed element is looked up at the index it was last seen at, then among the elements with an equal sort key,
+   * which finds it when its key did not change, and finally outwards from that index. An element that is in the view
+   * several times is looked up everywhere.
+   */
+  @Override
+  public void propertyChange(PropertyChangeEvent evt) {
+    T t = (T) evt.getSource();
+    Tracked entry = tracked.get(t);
+    if (entry == null)
+      return;
+
+    if (entry.count == 1) {
+      int i = indexOfChanged(t, entry.index);
+      if (i < 0)
+        return;
+      if (isInOrder(i)) {
+        entry.index = i;
+        return;
+      }
+      // The other elements are still sorted, so the changed element is taken out and inserted again at its new position.
+      super.remove(i);
+      addSorted(t);
+      return;
+    }
+
+    List<Integer> indices = new ArrayList<>(entry.count);
+    boolean sorted = true;
+    for (int i = 0; i < size(); i++) {
+      if (get(i) == t) {
+        indices.add(i);
+        sorted &= isInOrder(i);
+      }
+    }
+    if (sorted)
+      return;
+
+    for (int i = indices.size() - 1; i >= 0; i--) {
+      super.remove((int) indices.get(i));
+    }
+    for (int i = 0; i < indices.size(); i++) {
+      addSorted(t);
+    }
+  }
+
+  private int indexOfChanged(T t, int hint) {
+    if (hint < size() && get(hint) == t)
+      return hint;
+
+    int low = 0;
+    int high = size();
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (comparator.compare(get(mid), t) < 0)
+        low = mid + 1;
+      else
+        high = mid;
+    }
+    for (int i = low; i < size() && comparator.compare(get(i), t) == 0; i++) {
+      if (get(i) == t)
+        return i;
+    }
+    return identityIndexNear(this, t, hint);
+  }
+
+  private boolean isInOrder(int index) {
+    T t = get(index);
+    return (index == 0 || comparator.compare(get(index - 1), t) <= 0)
+        && (index == size() - 1 || comparator.compare(t, get(index + 1)) <= 0);
+  }
+
+  /**
+   * Listens once to each distinct element.
+   */
+  private void registerPropertyChanged(T t) {
+    if (!(t instanceof NotifyPropertyChanged))
+      return;
+    Tracked entry = tracked.get(t);
+    if (entry == null) {
+      entry = new Tracked();
+      tracked.put(t, entry);
+      ((NotifyPropertyChanged) t).addPropertyChangeListener(this);
+    }
+    entry.count++;
+  }
+
+  private void unregisterPropertyChanged(Object o) {
+    Tracked entry = tracked.get(o);
+    if (entry != null && --entry.count == 0) {
+      tracked.remove(o);
+      ((NotifyPropertyChanged) o).removePropertyChangeListener(this);
+    }
+  }
+
+  /**
+   * Remembers the index an element was inserted at.
+   */
+  private void seenAt(T t, int index) {
+    Tracked entry = tracked.get(t);
+    if (entry != null)
+      entry.index = index;
+  }
+
+  private static class Tracked {
+    private int count;
+    private int index;
+  }
   // endregion
 }
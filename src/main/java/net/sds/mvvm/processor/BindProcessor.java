@@ -0,0 +1,205 @@
+/*
+ * Copyright 2020 Serge de Schaetzen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package net.sds.mvvm.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.JavaFileObject;
+import net.sds.mvvm.bindings.Bind;
+import net.sds.mvvm.bindings.BindValues;
+import net.sds.mvvm.bindings.GeneratedBinder;
+
+/**
+ * Optional annotation processor that generates a {@link GeneratedBinder} for every class with @Bind annotated fields.
+ * The generated binder reads the annotated fields directly, so Binder.bind doesn't need reflection to find and
+ * access them.
+ *
+ * A binder is only generated when all annotated fields (including inherited ones) can be accessed from the package
+ * of the class: they should not be private. When this is not the case, a warning is issued and Binder.bind
+ * falls back to reflection for that class.
+ *
+ * The processor is only registered as a service in the 'processor' jar, so it has to be enabled explicitly: by putting
+ * that jar on the annotation processor path, or with javac's -processor option.
+ */
+@SupportedAnnotationTypes({"net.sds.mvvm.bindings.Bind", "net.sds.mvvm.bindings.BindValues"})
+public class BindProcessor extends AbstractProcessor {
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    Set<TypeElement> types = new LinkedHashSet<>();
+    for (Element e : roundEnv.getElementsAnnotatedWith(Bind.class)) {
+      types.add((TypeElement) e.getEnclosingElement());
+    }
+    for (Element e : roundEnv.getElementsAnnotatedWith(BindValues.class)) {
+      types.add((TypeElement) e.getEnclosingElement());
+    }
+
+    for (TypeElement type : types) {
+      if (canGenerate(type)) {
+        generate(type);
+      }
+    }
+    return false;
+  }
+
+  private boolean canGenerate(TypeElement type) {
+    if (type.getNestingKind() == NestingKind.LOCAL || type.getNestingKind() == NestingKind.ANONYMOUS) {
+      return false;
+    }
+    for (Element e = type; e instanceof TypeElement; e = e.getEnclosingElement()) {
+      if (e.getModifiers().contains(Modifier.PRIVATE)) {
+        warn(type, "Class %s is private, Binder.bind will use reflection.", type.getQualifiedName());
+        return false;
+      }
+    }
+
+    PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+    for (VariableElement field : getAnnotatedFields(type)) {
+      Set<Modifier> modifiers = field.getModifiers();
+      boolean samePackage = processingEnv.getElementUtils().getPackageOf(field).equals(pkg);
+      if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.STATIC)
+          || (!samePackage && !modifiers.contains(Modifier.PUBLIC))) {
+        warn(field, "Field %s can not be accessed by a generated binder, Binder.bind will use reflection for class %s.",
+            field.getSimpleName(), type.getQualifiedName());
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the annotated fields of the type and its super classes. As in Binder.bind, a field hides fields
+   * with the same name in super classes.
+   */
+  private List<VariableElement> getAnnotatedFields(TypeElement type) {
+    List<VariableElement> fields = new ArrayList<>();
+    Set<String> names = new HashSet<>();
+    TypeElement current = type;
+    while (current != null) {
+      for (Element e : current.getEnclosedElements()) {
+        if (e.getKind() == ElementKind.FIELD && e.getAnnotationsByType(Bind.class).length > 0
+            && names.add(e.getSimpleName().toString())) {
+          fields.add((VariableElement) e);
+        }
+      }
+      TypeMirror superclass = current.getSuperclass();
+      current = superclass.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+    }
+    return fields;
+  }
+
+  private void generate(TypeElement type) {
+    Elements elements = processingEnv.getElementUtils();
+    String packageName = elements.getPackageOf(type).getQualifiedName().toString();
+    String binderName = GeneratedBinder.getBinderName(elements.getBinaryName(type).toString());
+    String simpleName = binderName.substring(packageName.isEmpty() ? 0 : packageName.length() + 1);
+    String typeName = processingEnv.getTypeUtils().erasure(type.asType()).toString();
+
+    StringBuilder constants = new StringBuilder();
+    StringBuilder body = new StringBuilder();
+    int i = 0;
+    for (VariableElement field : getAnnotatedFields(type)) {
+      for (Bind bind : field.getAnnotationsByType(Bind.class)) {
+        constants.append("  private static final String[] SOURCE_").append(i).append(" = ").append(toArray(bind.value())).append(";\n");
+        constants.append("  private static final String[] TARGET_").append(i).append(" = ").append(toArray(bind.target())).append(";\n");
+        body.append("    bindField(bindings, ").append(fieldAccess(type, field)).append(", SOURCE_").append(i)
+            .append(", target, TARGET_").append(i).append(", BindingType.").append(bind.type().name());
+        if (bind.debounceMs() != 0 || bind.throttleMs() != 0) {
+          body.append(", ").append(bind.debounceMs()).append(", ").append(bind.throttleMs());
+        }
+        body.append(");\n");
+        i++;
+      }
+    }
+
+    try {
+      JavaFileObject file = processingEnv.getFiler().createSourceFile(binderName, type);
+      try (Writer w = file.openWriter()) {
+        if (!packageName.isEmpty()) {
+          w.write("package " + packageName + ";\n\n");
+        }
+        w.write("import net.sds.mvvm.bindings.BindingException;\n");
+        w.write("import net.sds.mvvm.bindings.BindingGroup;\n");
+        w.write("import net.sds.mvvm.bindings.BindingType;\n");
+        w.write("import net.sds.mvvm.bindings.GeneratedBinder;\n\n");
+        w.write("/**\n * Binder generated by " + BindProcessor.class.getName() + " for {@link " + typeName + "}.\n */\n");
+        w.write("@SuppressWarnings(\"rawtypes\")\n");
+        w.write("public final class " + simpleName + " extends GeneratedBinder<" + typeName + "> {\n");
+        w.write(constants.toString());
+        w.write("\n  @Override\n");
+        w.write("  public void bind(" + typeName + " source, Object target, BindingGroup bindings) throws BindingException {\n");
+        w.write(body.toString());
+        w.write("  }\n}\n");
+      }
+    } catch (IOException e) {
+      processingEnv.getMessager().printMessage(Kind.ERROR, "Could not generate " + binderName + ": " + e.getMessage(), type);
+    }
+  }
+
+  private String fieldAccess(TypeElement type, VariableElement field) {
+    if (field.getEnclosingElement().equals(type)) {
+      return "source." + field.getSimpleName();
+    }
+    // Inherited field: cast, as the field could be hidden by a (non annotated) field of a sub class.
+    String owner = processingEnv.getTypeUtils().erasure(field.getEnclosingElement().asType()).toString();
+    return "((" + owner + ") source)." + field.getSimpleName();
+  }
+
+  private String toArray(String path) {
+    StringBuilder sb = new StringBuilder("{");
+    String[] split = path.split("\\.");
+    for (int i = 0; i < split.length; i++) {
+      if (i > 0) {
+        sb.append(", ");
+      }
+      sb.append(processingEnv.getElementUtils().getConstantExpression(split[i]));
+    }
+    return sb.append("}").toString();
+  }
+
+  private void warn(Element e, String format, Object... args) {
+    processingEnv.getMessager().printMessage(Kind.WARNING, String.format(format, args), e);
+  }
+}
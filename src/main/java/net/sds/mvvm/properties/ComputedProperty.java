@@ -0,0 +1,139 @@
+/*
+ * Copyright 2020 Serge de Schaetzen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package net.sds.mvvm.properties;
+
+import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+import net.sds.mvvm.utils.DefaultNotifyPropertyChanged;
+
+/**
+ * Read-only property whose value is computed from other properties. The properties read by the computation are
+ * recorded and listened to. When one of them changes, the value is invalidated and a single change event is fired,
+ * with a null new value; the value is only computed again when it is read. Further changes do not fire events until
+ * the value has been read again.
+ */
+public class ComputedProperty<T> extends DefaultNotifyPropertyChanged implements Property<T> {
+  private final String name;
+  private final Supplier<T> computation;
+  private final PropertyChangeListener invalidator = e -> invalidate();
+  private List<Property<?>> dependencies = Collections.emptyList();
+  private boolean valid;
+  private T value;
+
+  ComputedProperty(String name, Object owner, Supplier<T> computation) {
+    super(owner);
+    this.name = name;
+    this.computation = computation;
+  }
+
+  ComputedProperty(String name, Supplier<T> computation) {
+    this.name = name;
+    this.computation = computation;
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public T get() {
+    Dependencies.read(this);
+    if (!valid) {
+      compute();
+    }
+    return value;
+  }
+
+  private void compute() {
+    List<Property<?>> read = new ArrayList<>(dependencies.size());
+    value = Dependencies.collect(computation, read);
+    valid = true;
+
+    for (Property<?> p : dependencies) {
+      if (!read.contains(p))
+        p.removePropertyChangeListener(invalidator);
+    }
+    for (Property<?> p : read) {
+      if (!dependencies.contains(p))
+        p.addPropertyChangeListener(invalidator);
+    }
+    dependencies = read;
+  }
+
+  /**
+   * Computes the value if needed, so that the listener is notified when a dependency changes.
+   */
+  @Override
+  public void addPropertyChangeListener(PropertyChangeListener listener) {
+    super.addPropertyChangeListener(listener);
+    if (!valid)
+      compute();
+  }
+
+  @Override
+  public void addPropertyChangeListener(String propertyName, PropertyChangeListener listener) {
+    super.addPropertyChangeListener(propertyName, listener);
+    if (!valid)
+      compute();
+  }
+
+  /**
+   * Marks the value as outdated, and notifies the listeners if it was up to date.
+   */
+  private void invalidate() {
+    if (valid) {
+      valid = false;
+      if (hasPropertyChangeListeners(name))
+        notifyListeners(name, value, null);
+    }
+  }
+
+  /**
+   * Computed properties cannot be set.
+   * @throws UnsupportedOperationException Always.
+   */
+  @Override
+  public void set(T t) {
+    throw new UnsupportedOperationException("Computed property " + name + " cannot be set");
+  }
+
+  @Override
+  public boolean isNull() {
+    return get() == null;
+  }
+
+  @Override
+  public boolean isNotNull() {
+    return !isNull();
+  }
+
+  /**
+   * Stops listening to the properties the value depends on. The value is computed again, and listened to, when read.
+   */
+  public void dispose() {
+    for (Property<?> p : dependencies)
+      p.removePropertyChangeListener(invalidator);
+    dependencies = Collections.emptyList();
+    valid = false;
+  }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2020 Serge de Schaetzen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package net.sds.mvvm.properties;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Records the properties read while a computed property is evaluated. Properties report their reads with
+ * {@link #read(Property)}; the reads are only recorded during {@link #collect(Supplier, List)}, on the thread
+ * doing the evaluation.
+ */
+final class Dependencies {
+  private static final ThreadLocal<List<Property<?>>> CURRENT = new ThreadLocal<>();
+
+  private Dependencies() {}
+
+  /**
+   * Records that a property was read, if an evaluation is in progress.
+   * @param property The property read.
+   */
+  static void read(Property<?> property) {
+    List<Property<?>> current = CURRENT.get();
+    if (current != null && !current.contains(property))
+      current.add(property);
+  }
+
+  /**
+   * Evaluates the computation, recording the properties it reads.
+   * @param computation The computation.
+   * @param dependencies The list receiving the properties read.
+   * @return The result of the computation.
+   */
+  static <T> T collect(Supplier<T> computation, List<Property<?>> dependencies) {
+    List<Property<?>> previous = CURRENT.get();
+    CURRENT.set(dependencies);
+    try {
+      return computation.get();
+    } finally {
+      if (previous == null)
+        CURRENT.remove();
+      else
+        CURRENT.set(previous);
+    }
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2020 Serge de Schaetzen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package net.sds.mvvm.properties;
+
+import net.sds.mvvm.utils.DefaultNotifyPropertyChanged;
+import net.sds.mvvm.utils.ListenerList;
+import net.sds.mvvm.utils.PropagationScheduler;
+
+/**
+ * Property holding a double value. The value is stored, compared and passed to DoubleChangeListeners without boxing.
+ * Values are compared by their bits, as Double.equals does: NaN equals NaN, and 0.0 differs from -0.0.
+ * PropertyChangeEvents are only created when PropertyChangeListeners are registered.
+ */
+public class DoubleProperty extends DefaultNotifyPropertyChanged implements Property<Double> {
+  private final String name;
+  private final ListenerList<DoubleChangeListener> listeners = new ListenerList<>();
+  private double value;
+
+  DoubleProperty(String name, Object owner, double initialValue) {
+    super(owner);
+    this.name = name;
+    this.value = initialValue;
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Returns the value.
+   * @return The value.
+   */
+  public double getDouble() {
+    Dependencies.read(this);
+    return value;
+  }
+
+  /**
+   * Sets the value. If its bits differ from those of the previous one, the listeners are notified.
+   * @param value The new value.
+   */
+  public void setDouble(double value) {
+    double old = this.value;
+    if (Double.doubleToLongBits(old) == Double.doubleToLongBits(value))
+      return;
+
+    this.value = value;
+    PropagationScheduler.begin();
+    try {
+      Object[] current = listeners.toArray();
+      for (int i = 0; i < current.length; i++)
+        ((DoubleChangeListener) current[i]).changed(this, old, value);
+      if (hasPropertyChangeListeners(name))
+        firePropertyChange(name, old, value);
+    } finally {
+      PropagationScheduler.end();
+    }
+  }
+
+  /**
+   * Adds a listener notified of value changes.
+   * @param listener The listener.
+   */
+  public void addDoubleChangeListener(DoubleChangeListener listener) {
+    listeners.add(listener);
+  }
+
+  /**
+   * Removes a listener.
+   * @param listener The listener.
+   */
+  public void removeDoubleChangeListener(DoubleChangeListener listener) {
+    listeners.remove(listener);
+  }
+
+  @Override
+  public Double get() {
+    return getDouble();
+  }
+
+  /**
+   * Sets the value. A null value sets 0.0.
+   * @param t The new value.
+   */
+  @Override
+  public void set(Double t) {
+    setDouble(t == null ? 0.0 : t);
+  }
+
+  @Override
+  public boolean isNull() {
+    return false;
+  }
+
+  @Override
+  public boolean isNotNull() {
+    return true;
+  }
+}
@@ -17,27 +17,47 @@
 
 package net.sds.mvvm.properties;
 
-import java.lang.reflect.Array;
+import java.util.HashMap;
+import java.util.Map;
 import net.sds.mvvm.utils.DefaultNotifyPropertyChanged;
 
 /**
  * Generic implementation of Property.
  */
 public class GenericProperty<T> extends DefaultNotifyPropertyChanged implements Property<T> {
+  private static final Map<Class<?>, Object> DEFAULTS = new HashMap<>();
   private T value;
   private String name;
   private Class<T> propertyType;
 
+  static {
+    DEFAULTS.put(boolean.class, false);
+    DEFAULTS.put(byte.class, (byte) 0);
+    DEFAULTS.put(short.class, (short) 0);
+    DEFAULTS.put(char.class, (char) 0);
+    DEFAULTS.put(int.class, 0);
+    DEFAULTS.put(long.class, 0L);
+    DEFAULTS.put(float.class, 0f);
+    DEFAULTS.put(double.class, 0.0);
+  }
+
   GenericProperty(String name, Object owner, Class<T> propertyType, T initialValue) {
     super(owner);
     this.name = name;
     this.propertyType = propertyType;
     if (initialValue == null) {
-      initialValue = (T) Array.get(Array.newInstance(this.propertyType, 1), 0);
+      initialValue = defaultValue(propertyType);
     }
     this.value = initialValue;
   }
 
+  /**
+   * Returns the default value of a type: the zero value for primitive types, null otherwise.
+   */
+  static <T> T defaultValue(Class<T> type) {
+    return (T) DEFAULTS.get(type);
+  }
+
   public Class<T> getPropertyType() {
     return propertyType;
   }
@@ -49,19 +69,20 @@ public class GenericProperty<T> extends DefaultNotifyPropertyChanged implements
 
   @Override
   public T get() {
+    Dependencies.read(this);
     return value;
   }
 
   @Override
   public void set(T t) {
-    T old = get();
+    T old = value;
     value = t;
-    T newValue = get();
-    firePropertyChange(name, old, newValue);
+    firePropertyChange(name, old, t);
   }
 
   @Override
   public boolean isNull() {
+    Dependencies.read(this);
     return value == null;
   }
 
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2020 Serge de Schaetzen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package net.sds.mvvm.properties;
+
+import net.sds.mvvm.utils.DefaultNotifyPropertyChanged;
+import net.sds.mvvm.utils.ListenerList;
+import net.sds.mvvm.utils.PropagationScheduler;
+
+/**
+ * Property holding an int value. The value is stored, compared and passed to IntChangeListeners without boxing.
+ * PropertyChangeEvents are only created when PropertyChangeListeners are registered.
+ */
+public class IntProperty extends DefaultNotifyPropertyChanged implements Property<Integer> {
+  private final String name;
+  private final ListenerList<IntChangeListener> listeners = new ListenerList<>();
+  private int value;
+
+  IntProperty(String name, Object owner, int initialValue) {
+    super(owner);
+    this.name = name;
+    this.value = initialValue;
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Returns the value.
+   * @return The value.
+   */
+  public int getInt() {
+    Dependencies.read(this);
+    return value;
+  }
+
+  /**
+   * Sets the value. If it differs from the previous one, the listeners are notified.
+   * @param value The new value.
+   */
+  public void setInt(int value) {
+    int old = this.value;
+    if (old == value)
+      return;
+
+    this.value = value;
+    PropagationScheduler.begin();
+    try {
+      Object[] current = listeners.toArray();
+      for (int i = 0; i < current.length; i++)
+        ((IntChangeListener) current[i]).changed(this, old, value);
+      if (hasPropertyChangeListeners(name))
+        firePropertyChange(name, old, value);
+    } finally {
+      PropagationScheduler.end();
+    }
+  }
+
+  /**
+   * Adds a listener notified of value changes.
+   * @param listener The listener.
+   */
+  public void addIntChangeListener(IntChangeListener listener) {
+    listeners.add(listener);
+  }
+
+  /**
+   * Removes a listener.
+   * @param listener The listener.
+   */
+  public void removeIntChangeListener(IntChangeListener listener) {
+    listeners.remove(listener);
+  }
+
+  @Override
+  public Integer get() {
+    return getInt();
+  }
+
+  /**
+   * Sets the value. A null value sets 0.
+   * @param t The new value.
+   */
+  @Override
+  public void set(Integer t) {
+    setInt(t == null ? 0 : t);
+  }
+
+  @Override
+  public boolean isNull() {
+    return false;
+  }
+
+  @Override
+  public boolean isNotNull() {
+    return true;
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2020 Serge de Schaetzen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package net.sds.mvvm.properties;
+
+import net.sds.mvvm.utils.DefaultNotifyPropertyChanged;
+import net.sds.mvvm.utils.ListenerList;
+import net.sds.mvvm.utils.PropagationScheduler;
+
+/**
+ * Property holding a long value. The value is stored, compared and passed to LongChangeListeners without boxing.
+ * PropertyChangeEvents are only created when PropertyChangeListeners are registered.
+ */
+public class LongProperty extends DefaultNotifyPropertyChanged implements Property<Long> {
+  private final String name;
+  private final ListenerList<LongChangeListener> listeners = new ListenerList<>();
+  private long value;
+
+  LongProperty(String name, Object owner, long initialValue) {
+    super(owner);
+    this.name = name;
+    this.value = initialValue;
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Returns the value.
+   * @return The value.
+   */
+  public long getLong() {
+    Dependencies.read(this);
+    return value;
+  }
+
+  /**
+   * Sets the value. If it differs from the previous one, the listeners are notified.
+   * @param value The new value.
+   */
+  public void setLong(long value) {
+    long old = this.value;
+    if (old == value)
+      return;
+
+    this.value = value;
+    PropagationScheduler.begin();
+    try {
+      Object[] current = listeners.toArray();
+      for (int i = 0; i < current.length; i++)
+        ((LongChangeListener) current[i]).changed(this, old, value);
+      if (hasPropertyChangeListeners(name))
+        firePropertyChange(name, old, value);
+    } finally {
+      PropagationScheduler.end();
+    }
+  }
+
+  /**
+   * Adds a listener notified of value changes.
+   * @param listener The listener.
+   */
+  public void addLongChangeListener(LongChangeListener listener) {
+    listeners.add(listener);
+  }
+
+  /**
+   * Removes a listener.
+   * @param listener The listener.
+   */
+  public void removeLongChangeListener(LongChangeListener listener) {
+    listeners.remove(listener);
+  }
+
+  @Override
+  public Long get() {
+    return getLong();
+  }
+
+  /**
+   * Sets the value. A null value sets 0L.
+   * @param t The new value.
+   */
+  @Override
+  public void set(Long t) {
+    setLong(t == null ? 0L : t);
+  }
+
+  @Override
+  public boolean isNull() {
+    return false;
+  }
+
+  @Override
+  public boolean isNotNull() {
+    return true;
+  }
+}
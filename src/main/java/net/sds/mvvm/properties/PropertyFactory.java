@@ -17,6 +17,8 @@
 
 package net.sds.mvvm.properties;
 
+import java.util.function.Supplier;
+
 public class PropertyFactory {
   private PropertyFactory() {}
 
@@ -31,4 +33,66 @@ public class PropertyFactory {
   public static <T> Property<T> createProperty(String name, Object owner, Class<T> cl, T initialValue) {
     return new GenericProperty<>(name, owner, cl, initialValue);
   }
+
+  /**
+   * Creates a property computed from the properties read by the computation. See {@link ComputedProperty}.
+   * @param computation The computation.
+   * @return The property, named "value", and source of its own events.
+   */
+  public static <T> ComputedProperty<T> computed(Supplier<T> computation) {
+    return new ComputedProperty<>("value", computation);
+  }
+
+  /**
+   * Creates a property computed from the properties read by the computation. See {@link ComputedProperty}.
+   * @param name The name of the property.
+   * @param owner The owner, source of the events.
+   * @param computation The computation.
+   * @return The property.
+   */
+  public static <T> ComputedProperty<T> computed(String name, Object owner, Supplier<T> computation) {
+    return new ComputedProperty<>(name, owner, computation);
+  }
+
+  /**
+   * Creates a PropertyStore, in which the properties of the owner can be created compactly.
+   * @param owner The owner of the properties, used as source of the change events.
+   * @param capacity The expected number of properties.
+   * @return The store.
+   */
+  public static PropertyStore createPropertyStore(Object owner, int capacity) {
+    return new PropertyStore(owner, capacity);
+  }
+
+  public static IntProperty createIntProperty(String name, Object owner) {
+    return createIntProperty(name, owner, 0);
+  }
+
+  public static IntProperty createIntProperty(String name, Object owner, int initialValue) {
+    return new IntProperty(name, owner, initialValue);
+  }
+
+  public static LongProperty createLongProperty(String name, Object owner) {
+    return createLongProperty(name, owner, 0L);
+  }
+
+  public static LongProperty createLongProperty(String name, Object owner, long initialValue) {
+    return new LongProperty(name, owner, initialValue);
+  }
+
+  public static DoubleProperty createDoubleProperty(String name, Object owner) {
+    return createDoubleProperty(name, owner, 0.0);
+  }
+
+  public static DoubleProperty createDoubleProperty(String name, Object owner, double initialValue) {
+    return new DoubleProperty(name, owner, initialValue);
+  }
+
+  public static BooleanProperty createBooleanProperty(String name, Object owner) {
+    return createBooleanProperty(name, owner, false);
+  }
+
+  public static BooleanProperty createBooleanProperty(String name, Object owner, boolean initialValue) {
+    return new BooleanProperty(name, owner, initialValue);
+  }
 }
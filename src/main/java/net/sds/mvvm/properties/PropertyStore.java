@@ -0,0 +1,84 @@
+/*
+ * Copyright 2020 Serge de Schaetzen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package net.sds.mvvm.properties;
+
+import java.util.Arrays;
+import java.util.Objects;
+import net.sds.mvvm.utils.DefaultNotifyPropertyChanged;
+
+/**
+ * Compact storage for the properties of one owner. The values of all properties are kept in a single array, and
+ * a single notifier fires the change events of all of them. The properties created by the store only hold their
+ * name and the index of their value, which makes them much smaller than GenericProperties when an application
+ * holds many owners, e.g. one view model per table row.
+ * The names of the properties created by a store must be unique, as the listeners are registered for the name.
+ */
+public class PropertyStore extends DefaultNotifyPropertyChanged {
+  private Object[] values;
+  private String[] names;
+  private int count;
+
+  PropertyStore(Object owner, int capacity) {
+    super(owner);
+    values = new Object[capacity];
+    names = new String[capacity];
+  }
+
+  /**
+   * Creates a property stored in this store, initialized with the default value of its type.
+   * @param name The name of the property.
+   * @param type The type of the property.
+   * @return The property.
+   */
+  public <T> Property<T> createProperty(String name, Class<T> type) {
+    return createProperty(name, type, null);
+  }
+
+  /**
+   * Creates a property stored in this store.
+   * @param name The name of the property.
+   * @param type The type of the property.
+   * @param initialValue The initial value, or null for the default value of the type.
+   * @return The property.
+   * @throws IllegalArgumentException When the store already holds a property with that name.
+   */
+  public <T> Property<T> createProperty(String name, Class<T> type, T initialValue) {
+    for (int i = 0; i < count; i++) {
+      if (Objects.equals(names[i], name))
+        throw new IllegalArgumentException(String.format("Property %s already exists in the store!", name));
+    }
+    if (count == values.length) {
+      values = Arrays.copyOf(values, Math.max(4, count * 2));
+      names = Arrays.copyOf(names, values.length);
+    }
+    values[count] = initialValue == null ? GenericProperty.defaultValue(type) : initialValue;
+    names[count] = name;
+    return new SlotProperty<>(this, name, count++);
+  }
+
+  Object get(int slot) {
+    return values[slot];
+  }
+
+  void set(int slot, String name, Object value) {
+    Object old = values[slot];
+    values[slot] = value;
+    firePropertyChange(name, old, value);
+  }
+}
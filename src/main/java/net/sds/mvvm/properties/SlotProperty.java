@@ -0,0 +1,92 @@
+/*
+ * Copyright 2020 Serge de Schaetzen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package net.sds.mvvm.properties;
+
+import java.beans.PropertyChangeListener;
+
+/**
+ * Property whose value is kept in a PropertyStore. Listeners are registered on the store, for the name of
+ * this property.
+ */
+final class SlotProperty<T> implements Property<T> {
+  private final PropertyStore store;
+  private final String name;
+  private final int slot;
+
+  SlotProperty(PropertyStore store, String name, int slot) {
+    this.store = store;
+    this.name = name;
+    this.slot = slot;
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public T get() {
+    Dependencies.read(this);
+    return (T) store.get(slot);
+  }
+
+  @Override
+  public void set(T t) {
+    store.set(slot, name, t);
+  }
+
+  @Override
+  public boolean isNull() {
+    Dependencies.read(this);
+    return store.get(slot) == null;
+  }
+
+  @Override
+  public boolean isNotNull() {
+    return !isNull();
+  }
+
+  @Override
+  public void addPropertyChangeListener(PropertyChangeListener listener) {
+    store.addPropertyChangeListener(name, listener);
+  }
+
+  @Override
+  public void addPropertyChangeListener(String propertyName, PropertyChangeListener listener) {
+    if (name.equals(propertyName))
+      store.addPropertyChangeListener(name, listener);
+  }
+
+  @Override
+  public void removePropertyChangeListener(PropertyChangeListener listener) {
+    store.removePropertyChangeListener(name, listener);
+  }
+
+  @Override
+  public void removePropertyChangeListener(String propertyName, PropertyChangeListener listener) {
+    if (name.equals(propertyName))
+      store.removePropertyChangeListener(name, listener);
+  }
+
+  @Override
+  public void firePropertyChange(String propertyName, Object oldValue, Object newValue) {
+    store.firePropertyChange(propertyName, oldValue, newValue);
+  }
+}
@@ -17,6 +17,7 @@
 
 package net.sds.mvvm.triggers;
 
+import java.beans.PropertyChangeListener;
 import javax.swing.JComponent;
 import net.sds.mvvm.bindings.Binding;
 import net.sds.mvvm.bindings.Direction;
@@ -28,6 +29,7 @@ import net.sds.mvvm.bindings.Direction;
 public class ComponentChangedTrigger implements Trigger {
   private JComponent component;
   private String propertyName;
+  private final Registrations registrations = new Registrations();
 
   public ComponentChangedTrigger(JComponent component, String propertyName) {
     this.component = component;
@@ -36,8 +38,15 @@ public class ComponentChangedTrigger implements Trigger {
 
   @Override
   public void register(Binding binding, Direction direction) {
-    component.addPropertyChangeListener(propertyName, e -> {
+    PropertyChangeListener listener = e -> {
       binding.apply(direction);
-    });
+    };
+    component.addPropertyChangeListener(propertyName, listener);
+    registrations.add(binding, direction, () -> component.removePropertyChangeListener(propertyName, listener));
+  }
+
+  @Override
+  public void unregister(Binding binding, Direction direction) {
+    registrations.remove(binding, direction);
   }
 }
@@ -28,6 +28,7 @@ import net.sds.mvvm.bindings.Direction;
  */
 public class DocumentTextChangedTrigger implements Trigger {
   private Document document;
+  private final Registrations registrations = new Registrations();
 
   public DocumentTextChangedTrigger(Document document) {
     this.document = document;
@@ -35,7 +36,7 @@ public class DocumentTextChangedTrigger implements Trigger {
 
   @Override
   public void register(final Binding binding, final Direction direction) {
-    document.addDocumentListener(new DocumentListener() {
+    DocumentListener listener = new DocumentListener() {
       @Override
       public void insertUpdate(DocumentEvent e) {
         applyBinding();
@@ -54,6 +55,13 @@ public class DocumentTextChangedTrigger implements Trigger {
       private void applyBinding() {
         binding.apply(direction);
       }
-    });
+    };
+    document.addDocumentListener(listener);
+    registrations.add(binding, direction, () -> document.removeDocumentListener(listener));
+  }
+
+  @Override
+  public void unregister(Binding binding, Direction direction) {
+    registrations.remove(binding, direction);
   }
 }
@@ -17,20 +17,30 @@
 
 package net.sds.mvvm.triggers;
 
+import java.awt.event.ActionListener;
 import javax.swing.AbstractButton;
 import net.sds.mvvm.bindings.Binding;
 import net.sds.mvvm.bindings.Direction;
 
 public class ItemSelectedTrigger implements Trigger {
   private AbstractButton button;
+  private final Registrations registrations = new Registrations();
+
   public ItemSelectedTrigger(AbstractButton button) {
     this.button = button;
   }
 
   @Override
   public void register(Binding binding, Direction direction) {
-    button.addActionListener(e -> {
+    ActionListener listener = e -> {
       binding.apply(direction);
-    });
+    };
+    button.addActionListener(listener);
+    registrations.add(binding, direction, () -> button.removeActionListener(listener));
+  }
+
+  @Override
+  public void unregister(Binding binding, Direction direction) {
+    registrations.remove(binding, direction);
   }
 }
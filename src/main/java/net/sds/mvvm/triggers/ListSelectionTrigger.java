@@ -17,10 +17,12 @@
 
 package net.sds.mvvm.triggers;
 
+import java.awt.event.ActionListener;
 import java.util.Optional;
 import javax.swing.*;
 import javax.swing.event.ListDataEvent;
 import javax.swing.event.ListDataListener;
+import javax.swing.event.ListSelectionListener;
 
 import net.sds.mvvm.bindings.Binding;
 import net.sds.mvvm.bindings.BindingException;
@@ -30,6 +32,8 @@ public class ListSelectionTrigger implements Trigger {
   private Optional<JList> list = Optional.empty();
   private Optional<JTable> table = Optional.empty();
   private Optional<JComboBox> combo = Optional.empty();
+  private final Registrations registrations = new Registrations();
+
   public ListSelectionTrigger(JList list) {
     this.list = Optional.of(list);
   }
@@ -42,18 +46,32 @@ public class ListSelectionTrigger implements Trigger {
 
   @Override
   public void register(final Binding binding, final Direction direction) throws BindingException {
-    list.ifPresent(l -> l.addListSelectionListener(e -> {
+    ListSelectionListener selectionListener = e -> {
       if (!e.getValueIsAdjusting()) {
         binding.apply(direction);
       }
-    }));
+    };
+    list.ifPresent(l -> {
+      l.addListSelectionListener(selectionListener);
+      registrations.add(binding, direction, () -> l.removeListSelectionListener(selectionListener));
+    });
 
-    table.ifPresent(t -> t.getSelectionModel().addListSelectionListener(e -> {
-      if (!e.getValueIsAdjusting()) {
-        binding.apply(direction);
-      }
-    }));
+    table.ifPresent(t -> {
+      // The selection model of the table could be replaced in the mean time.
+      ListSelectionModel model = t.getSelectionModel();
+      model.addListSelectionListener(selectionListener);
+      registrations.add(binding, direction, () -> model.removeListSelectionListener(selectionListener));
+    });
 
-    combo.ifPresent(c -> c.addActionListener(e -> binding.apply(direction)));
+    combo.ifPresent(c -> {
+      ActionListener actionListener = e -> binding.apply(direction);
+      c.addActionListener(actionListener);
+      registrations.add(binding, direction, () -> c.removeActionListener(actionListener));
+    });
+  }
+
+  @Override
+  public void unregister(Binding binding, Direction direction) {
+    registrations.remove(binding, direction);
   }
 }
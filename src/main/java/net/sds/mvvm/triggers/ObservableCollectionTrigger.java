@@ -19,18 +19,32 @@ package net.sds.mvvm.triggers;
 
 import net.sds.mvvm.bindings.Binding;
 import net.sds.mvvm.bindings.Direction;
+import net.sds.mvvm.collections.CollectionChangedListener;
 import net.sds.mvvm.collections.ObservableCollection;
 
 public class ObservableCollectionTrigger implements Trigger {
   private ObservableCollection<?> collection;
+  private final Registrations registrations = new Registrations();
+
   public ObservableCollectionTrigger(ObservableCollection<?> collection) {
     this.collection = collection;
   }
 
   @Override
   public void register(Binding binding, Direction direction) {
-    this.collection.addListener(e -> {
+    registrations.add(binding, direction, listen(collection, binding, direction));
+  }
+
+  private static <T> Runnable listen(ObservableCollection<T> collection, Binding binding, Direction direction) {
+    CollectionChangedListener<T> listener = e -> {
       binding.apply(direction);
-    });
+    };
+    collection.addListener(listener);
+    return () -> collection.removeListener(listener);
+  }
+
+  @Override
+  public void unregister(Binding binding, Direction direction) {
+    registrations.remove(binding, direction);
   }
 }
@@ -17,19 +17,65 @@
 
 package net.sds.mvvm.triggers;
 
+import java.beans.PropertyChangeListener;
 import net.sds.mvvm.bindings.Binding;
 import net.sds.mvvm.bindings.Direction;
+import net.sds.mvvm.properties.BooleanChangeListener;
+import net.sds.mvvm.properties.BooleanProperty;
+import net.sds.mvvm.properties.DoubleChangeListener;
+import net.sds.mvvm.properties.DoubleProperty;
+import net.sds.mvvm.properties.IntChangeListener;
+import net.sds.mvvm.properties.IntProperty;
+import net.sds.mvvm.properties.LongChangeListener;
+import net.sds.mvvm.properties.LongProperty;
 import net.sds.mvvm.properties.Property;
 
 public class PropertyTrigger implements Trigger {
   private Property property;
+  private final Registrations registrations = new Registrations();
 
   public PropertyTrigger(Property p) {
     this.property = p;
   }
 
+  /**
+   * Primitive properties are listened to with their primitive listeners, so that no event is created.
+   */
   @Override
   public void register(Binding binding, Direction direction) {
-    property.addPropertyChangeListener(e -> binding.apply(direction));
+    registrations.add(binding, direction, listen(binding, direction));
+  }
+
+  @Override
+  public void unregister(Binding binding, Direction direction) {
+    registrations.remove(binding, direction);
+  }
+
+  private Runnable listen(Binding binding, Direction direction) {
+    if (property instanceof IntProperty) {
+      IntProperty p = (IntProperty) property;
+      IntChangeListener l = (s, o, n) -> binding.apply(direction);
+      p.addIntChangeListener(l);
+      return () -> p.removeIntChangeListener(l);
+    } else if (property instanceof LongProperty) {
+      LongProperty p = (LongProperty) property;
+      LongChangeListener l = (s, o, n) -> binding.apply(direction);
+      p.addLongChangeListener(l);
+      return () -> p.removeLongChangeListener(l);
+    } else if (property instanceof DoubleProperty) {
+      DoubleProperty p = (DoubleProperty) property;
+      DoubleChangeListener l = (s, o, n) -> binding.apply(direction);
+      p.addDoubleChangeListener(l);
+      return () -> p.removeDoubleChangeListener(l);
+    } else if (property instanceof BooleanProperty) {
+      BooleanProperty p = (BooleanProperty) property;
+      BooleanChangeListener l = (s, o, n) -> binding.apply(direction);
+      p.addBooleanChangeListener(l);
+      return () -> p.removeBooleanChangeListener(l);
+    } else {
+      PropertyChangeListener l = e -> binding.apply(direction);
+      property.addPropertyChangeListener(l);
+      return () -> property.removePropertyChangeListener(l);
+    }
   }
 }
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2020 Serge de Schaetzen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package net.sds.mvvm.triggers;
+
+import java.util.ArrayList;
+import java.util.List;
+import net.sds.mvvm.bindings.Binding;
+import net.sds.mvvm.bindings.Direction;
+
+/**
+ * Keeps track of the listeners a trigger registered, per binding and direction, so that they can be removed again.
+ * A trigger is usually registered for a single binding, so a list is used.
+ */
+final class Registrations {
+  private final List<Registration> registrations = new ArrayList<>();
+
+  /**
+   * Adds a registration.
+   * @param binding The binding.
+   * @param direction The direction.
+   * @param remover Removes the listener that was registered.
+   */
+  synchronized void add(Binding binding, Direction direction, Runnable remover) {
+    registrations.add(new Registration(binding, direction, remover));
+  }
+
+  /**
+   * Removes the listener registered for the binding and direction, if any.
+   * @param binding The binding.
+   * @param direction The direction.
+   */
+  void remove(Binding binding, Direction direction) {
+    Runnable remover = null;
+    synchronized (this) {
+      for (int i = 0; i < registrations.size(); i++) {
+        Registration r = registrations.get(i);
+        if (r.binding == binding && r.direction == direction) {
+          registrations.remove(i);
+          remover = r.remover;
+          break;
+        }
+      }
+    }
+    if (remover != null) {
+      remover.run();
+    }
+  }
+
+  private static final class Registration {
+    private final Binding binding;
+    private final Direction direction;
+    private final Runnable remover;
+
+    private Registration(Binding binding, Direction direction, Runnable remover) {
+      this.binding = binding;
+      this.direction = direction;
+      this.remover = remover;
+    }
+  }
+}
@@ -24,4 +24,13 @@ import net.sds.mvvm.bindings.Direction;
 @FunctionalInterface
 public interface Trigger {
   void register(Binding binding, Direction direction) throws BindingException;
+
+  /**
+   * Removes the listeners registered for the binding and direction, so that the objects monitored no longer refer to
+   * the binding. Triggers that can't remove their listeners, e.g. lambdas, don't need to implement this.
+   * @param binding The binding passed to {@link #register(Binding, Direction)}.
+   * @param direction The direction passed to {@link #register(Binding, Direction)}.
+   */
+  default void unregister(Binding binding, Direction direction) {
+  }
 }
@@ -17,8 +17,6 @@
 
 package net.sds.mvvm.triggers;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.function.BiFunction;
 import java.util.function.BiPredicate;
 import javax.swing.*;
@@ -28,49 +26,55 @@ import net.sds.mvvm.bindings.BindingException;
 import net.sds.mvvm.bindings.Paths;
 import net.sds.mvvm.collections.ObservableCollection;
 import net.sds.mvvm.properties.Property;
+import net.sds.mvvm.utils.FactoryRegistry;
 
 public class TriggerFactory {
-  private static final List<TriggerRegistrator> registrators = new ArrayList<>();
+  private static final FactoryRegistry<BiFunction<Object, String, Trigger>> registry = new FactoryRegistry<>();
 
   private TriggerFactory() {
   }
 
   public static Trigger create(Object source, String property) throws BindingException {
-    for (TriggerRegistrator registrator : registrators) {
-      if (registrator.predicate.test(source, property)) {
-        return registrator.factory.apply(source, property);
-      }
+    BiFunction<Object, String, Trigger> factory = registry.find(source, property);
+    if (factory != null) {
+      return factory.apply(source, property);
     }
 
     throw new BindingException(String.format("Could not find a Trigger for class %s and property %s!", source.getClass(), property));
   }
 
   static {
-    registerTriggerFactory((o, p) -> o instanceof Document && p.equals(Paths.TEXT)
+    registerTriggerFactory(Document.class, Paths.TEXT
         , (o, p) -> new DocumentTextChangedTrigger(Document.class.cast(o)));
 
-    registerTriggerFactory((o, p) -> o instanceof JTextComponent && p.equals(Paths.TEXT)
+    registerTriggerFactory(JTextComponent.class, Paths.TEXT
         , (o, p) -> new DocumentTextChangedTrigger(JTextComponent.class.cast(o).getDocument()));
 
-    registerTriggerFactory((o, p) -> o instanceof ObservableCollection
+    registerTriggerFactory(ObservableCollection.class, null
         , (o, p) -> new ObservableCollectionTrigger(ObservableCollection.class.cast(o)));
 
-    registerTriggerFactory((o, p) -> o instanceof Property
+    registerTriggerFactory(Property.class, null
         , (o, p) -> new PropertyTrigger(Property.class.cast(o)));
 
-    registerTriggerFactory((o, p) -> o instanceof JList && (p.equals(Paths.SELECTED_INDEX) || p.equals(Paths.SELECTED_INDICES))
+    registerTriggerFactory(JList.class, Paths.SELECTED_INDEX
         , (o, p) -> new ListSelectionTrigger(JList.class.cast(o)));
 
-    registerTriggerFactory((o, p) -> o instanceof JTable && (p.equals(Paths.SELECTED_ROW) || p.equals(Paths.SELECTED_ROWS))
+    registerTriggerFactory(JList.class, Paths.SELECTED_INDICES
+        , (o, p) -> new ListSelectionTrigger(JList.class.cast(o)));
+
+    registerTriggerFactory(JTable.class, Paths.SELECTED_ROW
+        , (o, p) -> new ListSelectionTrigger(JTable.class.cast(o)));
+
+    registerTriggerFactory(JTable.class, Paths.SELECTED_ROWS
         , (o, p) -> new ListSelectionTrigger(JTable.class.cast(o)));
 
-    registerTriggerFactory((o, p) -> o instanceof AbstractButton && p.equals(Paths.SELECTED)
+    registerTriggerFactory(AbstractButton.class, Paths.SELECTED
         , (o, p) -> new ItemSelectedTrigger(AbstractButton.class.cast(o)));
 
-    registerTriggerFactory((o, p) -> o instanceof JComboBox && (p.equals(Paths.SELECTED_ITEM))
+    registerTriggerFactory(JComboBox.class, Paths.SELECTED_ITEM
             , (o, p) -> new ListSelectionTrigger(JComboBox.class.cast(o)));
 
-    registerTriggerFactory((o, p) -> o instanceof JComponent
+    registerTriggerFactory(JComponent.class, null
         , (o, p) -> new ComponentChangedTrigger(JComponent.class.cast(o), p));
 
   }
@@ -79,22 +83,29 @@ public class TriggerFactory {
     registerTriggerFactory(predicate, factory, -1);
   }
 
+  /**
+   * Registers a trigger factory that is used when the predicate matches. Predicates are tested every time a
+   * trigger is created, so registering by type is preferred.
+   * @param predicate The predicate, tested with the object and the path.
+   * @param factory The factory.
+   * @param index The priority: the index in the list of factories, or -1 to add it at the end.
+   */
   public static void registerTriggerFactory(BiPredicate<Object, String> predicate, BiFunction<Object, String, Trigger> factory, int index) {
-    TriggerRegistrator registrator = new TriggerRegistrator(predicate, factory);
-    if (index < 0) {
-      registrators.add(registrator);
-    } else {
-      registrators.add(index, registrator);
-    }
+    registry.register(predicate, factory, index);
   }
 
-  private static class TriggerRegistrator {
-    final private BiPredicate<Object, String> predicate;
-    final private BiFunction<Object, String, Trigger> factory;
+  public static void registerTriggerFactory(Class<?> type, String path, BiFunction<Object, String, Trigger> factory) {
+    registerTriggerFactory(type, path, factory, -1);
+  }
 
-    private TriggerRegistrator(BiPredicate<Object, String> predicate, BiFunction<Object, String, Trigger> factory) {
-      this.predicate = predicate;
-      this.factory = factory;
-    }
+  /**
+   * Registers a trigger factory for instances of the given type and the given path.
+   * @param type The type of object.
+   * @param path The path, or null for any path.
+   * @param factory The factory.
+   * @param index The priority: the index in the list of factories, or -1 to add it at the end.
+   */
+  public static void registerTriggerFactory(Class<?> type, String path, BiFunction<Object, String, Trigger> factory, int index) {
+    registry.register(type, path, factory, index);
   }
 }
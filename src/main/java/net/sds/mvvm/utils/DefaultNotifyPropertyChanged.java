@@ -17,17 +17,23 @@
 
 package net.sds.mvvm.utils;
 
+import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
-import java.beans.PropertyChangeSupport;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 import net.sds.mvvm.NotifyPropertyChanged;
 
 /**
  * Default implementation of NotifyPropertyChanged that does the management of
- * the registers PropertyChangedListeners.
+ * the registers PropertyChangedListeners. The listener lists are only created when listeners are added, and events
+ * are only created when there are listeners to receive them.
  */
 public class DefaultNotifyPropertyChanged implements NotifyPropertyChanged {
-  private PropertyChangeSupport support;
+  private Object source;
+  private volatile ListenerList<PropertyChangeListener> listeners;
+  private volatile Map<String, ListenerList<PropertyChangeListener>> namedListeners = Collections.emptyMap();
 
   protected DefaultNotifyPropertyChanged() {
     initialize(this);
@@ -38,7 +44,7 @@ public class DefaultNotifyPropertyChanged implements NotifyPropertyChanged {
   }
 
   private void initialize(Object source) {
-    support = new PropertyChangeSupport(source);
+    this.source = source;
   }
 
   /**
@@ -52,8 +58,43 @@ public class DefaultNotifyPropertyChanged implements NotifyPropertyChanged {
    * @param newValue The (possibly null) new value.
    */
   public void firePropertyChange(String propertyName, Object oldValue, Object newValue) {
-    if (!Objects.equals(oldValue, newValue))
-      support.firePropertyChange(propertyName, oldValue, newValue);
+    if (hasPropertyChangeListeners(propertyName) && !Objects.equals(oldValue, newValue))
+      notifyListeners(propertyName, oldValue, newValue);
+  }
+
+  /**
+   * Fires a PropertyChange event to the listeners of the property, without comparing the values.
+   *
+   * @param propertyName The name of the property that changed.
+   * @param oldValue The (possibly null) old value.
+   * @param newValue The (possibly null) new value.
+   */
+  protected void notifyListeners(String propertyName, Object oldValue, Object newValue) {
+    ListenerList<PropertyChangeListener> all = listeners;
+    ListenerList<PropertyChangeListener> named = propertyName == null ? null : namedListeners.get(propertyName);
+    PropertyChangeEvent event = new PropertyChangeEvent(source, propertyName, oldValue, newValue);
+    PropagationScheduler.begin();
+    try {
+      if (all != null)
+        all.fire(PropertyChangeListener::propertyChange, event);
+      if (named != null)
+        named.fire(PropertyChangeListener::propertyChange, event);
+    } finally {
+      PropagationScheduler.end();
+    }
+  }
+
+  /**
+   * Returns true if there are listeners for the given property, either registered for that property or for
+   * all properties. Can be used to avoid creating the values of an event nobody receives.
+   *
+   * @param propertyName The name of the property.
+   * @return True if there are listeners.
+   */
+  protected boolean hasPropertyChangeListeners(String propertyName) {
+    ListenerList<PropertyChangeListener> all = listeners;
+    ListenerList<PropertyChangeListener> named = propertyName == null ? null : namedListeners.get(propertyName);
+    return (all != null && !all.isEmpty()) || (named != null && !named.isEmpty());
   }
 
   // ---------------------------------------------------------------------------
@@ -61,21 +102,44 @@ public class DefaultNotifyPropertyChanged implements NotifyPropertyChanged {
   // ---------------------------------------------------------------------------
   @Override
   public void addPropertyChangeListener(PropertyChangeListener listener) {
-    support.addPropertyChangeListener(listener);
+    if (listener == null)
+      return;
+    synchronized (this) {
+      if (listeners == null)
+        listeners = new ListenerList<>(false);
+    }
+    listeners.add(listener);
   }
 
   @Override
   public void addPropertyChangeListener(String propertyName, PropertyChangeListener listener) {
-    support.addPropertyChangeListener(propertyName, listener);
+    if (listener == null || propertyName == null)
+      return;
+    ListenerList<PropertyChangeListener> named;
+    synchronized (this) {
+      named = namedListeners.get(propertyName);
+      if (named == null) {
+        // Copied on write, so that firing reads the map without locking.
+        Map<String, ListenerList<PropertyChangeListener>> map = new HashMap<>(namedListeners);
+        named = new ListenerList<>(false);
+        map.put(propertyName, named);
+        namedListeners = map;
+      }
+    }
+    named.add(listener);
   }
 
   @Override
   public void removePropertyChangeListener(PropertyChangeListener listener) {
-    support.removePropertyChangeListener(listener);
+    ListenerList<PropertyChangeListener> all = listeners;
+    if (all != null)
+      all.remove(listener);
   }
 
   @Override
   public void removePropertyChangeListener(String propertyName, PropertyChangeListener listener) {
-    support.removePropertyChangeListener(propertyName, listener);
+    ListenerList<PropertyChangeListener> named = propertyName == null ? null : namedListeners.get(propertyName);
+    if (named != null)
+      named.remove(listener);
   }
 }
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2020 Serge de Schaetzen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package net.sds.mvvm.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiPredicate;
+
+/**
+ * Ordered registry of factories, used to find the factory to use for an object and a path.
+ *
+ * Factories can be registered for a type and a path. Those registrations are resolved once for every runtime class
+ * and path, and the result is memoized, so that finding the factory doesn't require testing all registrations.
+ * Factories registered with a predicate are tested on every lookup, but only if they have a higher priority
+ * (a lower index) than the first matching type registration.
+ *
+ * @param <F> The type of factory.
+ */
+public class FactoryRegistry<F> {
+  private final List<Registration<F>> registrations = new ArrayList<>();
+  private volatile ClassValue<Map<String, Registration<F>[]>> resolved = newCache();
+
+  /**
+   * Registers a factory for all instances of the given type and the given path.
+   * @param type The type of object the factory applies to.
+   * @param path The path the factory applies to, or null for any path.
+   * @param factory The factory.
+   * @param index The priority of the factory: the index in the list of registrations, or -1 to add it at the end.
+   */
+  public void register(Class<?> type, String path, F factory, int index) {
+    add(new Registration<>(type, path, null, factory), index);
+  }
+
+  /**
+   * Registers a factory that is used when the given predicate matches.
+   * @param predicate The predicate, tested with the object and the path.
+   * @param factory The factory.
+   * @param index The priority of the factory: the index in the list of registrations, or -1 to add it at the end.
+   */
+  public void register(BiPredicate<Object, String> predicate, F factory, int index) {
+    add(new Registration<>(null, null, predicate, factory), index);
+  }
+
+  private synchronized void add(Registration<F> registration, int index) {
+    if (index < 0) {
+      registrations.add(registration);
+    } else {
+      registrations.add(index, registration);
+    }
+    resolved = newCache();
+  }
+
+  /**
+   * Returns the factory with the highest priority for the given object and path.
+   * @param source The object.
+   * @param path The path.
+   * @return The factory, or null if there is none.
+   */
+  public F find(Object source, String path) {
+    Map<String, Registration<F>[]> byPath = resolved.get(source.getClass());
+    Registration<F>[] candidates = byPath.get(path);
+    if (candidates == null) {
+      candidates = resolve(source.getClass(), path);
+      byPath.put(path, candidates);
+    }
+
+    for (Registration<F> candidate : candidates) {
+      if (candidate.predicate == null || candidate.predicate.test(source, path)) {
+        return candidate.factory;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns the registrations that can apply to instances of the given class for the given path, in order of priority.
+   * The list ends with the first type registration that matches, as it always applies.
+   */
+  @SuppressWarnings("unchecked")
+  private synchronized Registration<F>[] resolve(Class<?> cl, String path) {
+    List<Registration<F>> result = new ArrayList<>();
+    for (Registration<F> registration : registrations) {
+      if (registration.predicate != null) {
+        result.add(registration);
+      } else if (registration.type.isAssignableFrom(cl) && (registration.path == null || registration.path.equals(path))) {
+        result.add(registration);
+        break;
+      }
+    }
+    return result.toArray(new Registration[0]);
+  }
+
+  private static <F> ClassValue<Map<String, Registration<F>[]>> newCache() {
+    return new ClassValue<Map<String, Registration<F>[]>>() {
+      @Override
+      protected Map<String, Registration<F>[]> computeValue(Class<?> type) {
+        return new ConcurrentHashMap<>();
+      }
+    };
+  }
+
+  private static class Registration<F> {
+    private final Class<?> type;
+    private final String path;
+    private final BiPredicate<Object, String> predicate;
+    private final F factory;
+
+    private Registration(Class<?> type, String path, BiPredicate<Object, String> predicate, F factory) {
+      this.type = type;
+      this.path = path;
+      this.predicate = predicate;
+      this.factory = factory;
+    }
+  }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2020 Serge de Schaetzen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package net.sds.mvvm.utils;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+/**
+ * Copy-on-write list of listeners. Adding and removing a listener copies the array of listeners, so that
+ * notifying them is a plain loop over an array that never changes: it does not allocate, does not lock, and
+ * listeners can be added or removed while a notification is in progress.
+ * By default a listener is only added once; listeners are notified in the order they were added.
+ * @param <L> The type of the listeners.
+ */
+public final class ListenerList<L> {
+  private static final Object[] EMPTY = new Object[0];
+  private final boolean unique;
+  private volatile Object[] listeners = EMPTY;
+
+  /**
+   * Creates a list in which a listener can only be added once.
+   */
+  public ListenerList() {
+    this(true);
+  }
+
+  /**
+   * Creates a list.
+   * @param unique If false, a listener added several times is notified several times, and has to be removed as
+   * many times.
+   */
+  public ListenerList(boolean unique) {
+    this.unique = unique;
+  }
+
+  /**
+   * Adds a listener, unless it was already added to a list of unique listeners.
+   * @param listener The listener.
+   * @return True if the listener was added.
+   */
+  public synchronized boolean add(L listener) {
+    Object[] current = listeners;
+    if (unique && indexOf(current, listener) >= 0)
+      return false;
+    Object[] result = Arrays.copyOf(current, current.length + 1);
+    result[current.length] = listener;
+    listeners = result;
+    return true;
+  }
+
+  /**
+   * Removes a listener. If it was added several times, only one of them is removed.
+   * @param listener The listener.
+   * @return True if the listener was removed.
+   */
+  public synchronized boolean remove(Object listener) {
+    Object[] current = listeners;
+    int i = indexOf(current, listener);
+    if (i < 0)
+      return false;
+    if (current.length == 1) {
+      listeners = EMPTY;
+    } else {
+      Object[] result = new Object[current.length - 1];
+      System.arraycopy(current, 0, result, 0, i);
+      System.arraycopy(current, i + 1, result, i, current.length - i - 1);
+      listeners = result;
+    }
+    return true;
+  }
+
+  /**
+   * Returns true if there are no listeners.
+   * @return True if empty.
+   */
+  public boolean isEmpty() {
+    return listeners.length == 0;
+  }
+
+  /**
+   * Returns the number of listeners.
+   * @return The number of listeners.
+   */
+  public int size() {
+    return listeners.length;
+  }
+
+  /**
+   * Returns the listeners. The array is shared and must not be modified; it is meant for notifications that cannot
+   * go through {@link #fire(BiConsumer, Object)}, e.g. because they pass primitive values.
+   * @return The listeners.
+   */
+  public Object[] toArray() {
+    return listeners;
+  }
+
+  /**
+   * Notifies all listeners that were registered when the notification started.
+   * @param action The method to call on each listener, e.g. CollectionChangedListener::collectionChanged.
+   * @param event The event to pass to the listeners.
+   * @param <E> The type of the event.
+   */
+  @SuppressWarnings("unchecked")
+  public <E> void fire(BiConsumer<? super L, ? super E> action, E event) {
+    Object[] current = listeners;
+    for (int i = 0; i < current.length; i++)
+      action.accept((L) current[i], event);
+  }
+
+  private static int indexOf(Object[] listeners, Object listener) {
+    for (int i = 0; i < listeners.length; i++) {
+      if (listeners[i].equals(listener))
+        return i;
+    }
+    return -1;
+  }
+}
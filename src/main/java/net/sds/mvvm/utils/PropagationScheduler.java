@@ -0,0 +1,147 @@
+/*
+ * Copyright 2020 Serge de Schaetzen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package net.sds.mvvm.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Schedules the propagation of changes, so that dependent updates run in dependency order and at most once per wave.
+ * <p>
+ * A wave starts when a change is notified, and ends when that notification, and everything it scheduled, is done.
+ * Nodes scheduled during a wave are not run immediately but queued by rank, and run in ascending rank order when the
+ * notification that started the wave returns. A node scheduled while a node of rank r runs gets at least rank r + 1.
+ * So in a diamond, where a node depends on two others that change in the same wave, the node runs once, after both of
+ * them. Ranks only hold within a wave: a node leaving the wave starts at rank 0 in the next one, so that a cycle that
+ * settles (e.g. two properties kept in sync) can be propagated any number of times. A cycle that doesn't settle climbs
+ * a rank per turn within its wave, and is detected when it exceeds the maximum rank.
+ * <p>
+ * Waves are per thread.
+ */
+public final class PropagationScheduler {
+  private static final int MAX_RANK = 1000;
+  private static final ThreadLocal<Wave> WAVE = ThreadLocal.withInitial(Wave::new);
+
+  private PropagationScheduler() {}
+
+  /**
+   * Starts a wave, or joins the current one. Must be followed by {@link #end()}.
+   */
+  public static void begin() {
+    WAVE.get().depth++;
+  }
+
+  /**
+   * Ends a wave started with {@link #begin()}. When the outermost wave ends, the scheduled nodes are run.
+   */
+  public static void end() {
+    Wave wave = WAVE.get();
+    if (--wave.depth == 0 && wave.queued > 0) {
+      wave.flush();
+    }
+  }
+
+  /**
+   * Schedules a node. Outside a wave, the node is run immediately, as a wave of its own.
+   * @param node The node.
+   */
+  public static void schedule(Node node) {
+    begin();
+    try {
+      WAVE.get().enqueue(node);
+    } finally {
+      end();
+    }
+  }
+
+  /**
+   * An action that is scheduled, rather than run, when a change is notified.
+   */
+  public static final class Node {
+    private final Runnable action;
+    private int rank;
+    private boolean queued;
+
+    public Node(Runnable action) {
+      this.action = action;
+    }
+  }
+
+  private static final class Wave {
+    private final List<ArrayDeque<Node>> buckets = new ArrayList<>();
+    private int depth;
+    private int queued;
+    private int currentRank = -1;
+
+    private void enqueue(Node node) {
+      int rank = Math.max(node.rank, currentRank + 1);
+      if (rank > MAX_RANK) {
+        throw new IllegalStateException("Propagation does not settle, the dependencies are probably cyclic");
+      }
+      if (node.queued && rank == node.rank) {
+        return;
+      }
+
+      // A node moved to a higher rank stays in its previous bucket, and is skipped there.
+      if (!node.queued) {
+        queued++;
+      }
+      node.rank = rank;
+      node.queued = true;
+      while (buckets.size() <= rank) {
+        buckets.add(new ArrayDeque<>());
+      }
+      buckets.get(rank).add(node);
+    }
+
+    private void flush() {
+      depth++;
+      try {
+        for (int r = 0; r < buckets.size() && queued > 0; r++) {
+          currentRank = r;
+          ArrayDeque<Node> bucket = buckets.get(r);
+          Node node;
+          while ((node = bucket.poll()) != null) {
+            if (node.queued && node.rank == r) {
+              node.queued = false;
+              node.rank = 0;
+              queued--;
+              node.action.run();
+            }
+          }
+        }
+      } finally {
+        currentRank = -1;
+        depth--;
+        if (queued > 0) {
+          // A node failed: drop the rest of the wave.
+          for (ArrayDeque<Node> bucket : buckets) {
+            for (Node node : bucket) {
+              node.queued = false;
+              node.rank = 0;
+            }
+            bucket.clear();
+          }
+          queued = 0;
+        }
+      }
+    }
+  }
+}
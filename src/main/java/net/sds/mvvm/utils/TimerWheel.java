@@ -0,0 +1,218 @@
+/*
+ * Copyright 2020 Serge de Schaetzen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package net.sds.mvvm.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import javax.swing.Timer;
+
+/**
+ * A hashed timer wheel, running delayed tasks on the event dispatch thread.
+ * <p>
+ * Timeouts are kept in a ring of slots, one slot per tick. A single Swing timer advances the wheel while timeouts are
+ * pending, and runs the ones that are due. Scheduling, postponing and cancelling a timeout take constant time, so that
+ * many bindings can be delayed without a timer each. Timeouts run with the resolution of a tick.
+ */
+public final class TimerWheel {
+  private static final int TICK_MILLIS = 10;
+  private static final int WHEEL_SIZE = 512;
+  private static final TimerWheel DEFAULT = new TimerWheel(TICK_MILLIS, WHEEL_SIZE, TimerWheel::currentTimeMillis, true);
+
+  private final int tickMillis;
+  private final Timeout[] slots;
+  private final int mask;
+  private final LongSupplier clock;
+  private final long start;
+  private final Timer driver;
+  private long tick;
+  private int pending;
+
+  /**
+   * Creates a wheel that is not advanced automatically, but by calling {@link #advance()}, e.g. in tests.
+   * @param tickMillis The duration of a tick.
+   * @param wheelSize The number of slots, rounded up to a power of 2.
+   * @param clock The clock, in milliseconds.
+   */
+  public TimerWheel(int tickMillis, int wheelSize, LongSupplier clock) {
+    this(tickMillis, wheelSize, clock, false);
+  }
+
+  private TimerWheel(int tickMillis, int wheelSize, LongSupplier clock, boolean driven) {
+    int size = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+    this.tickMillis = tickMillis;
+    this.slots = new Timeout[size];
+    this.mask = size - 1;
+    this.clock = clock;
+    this.start = clock.getAsLong();
+    if (driven) {
+      driver = new Timer(tickMillis, e -> advance());
+      driver.setCoalesce(true);
+    } else {
+      driver = null;
+    }
+  }
+
+  /**
+   * Returns the wheel shared by all bindings.
+   * @return The wheel.
+   */
+  public static TimerWheel getDefault() {
+    return DEFAULT;
+  }
+
+  /**
+   * Returns the current time of the wheel's clock.
+   * @return The time in milliseconds.
+   */
+  public long now() {
+    return clock.getAsLong();
+  }
+
+  /**
+   * Schedules a timeout to run at the given time. When the timeout is already pending, it is moved: a timeout that
+   * is rescheduled over and over (e.g. on every key stroke) runs once, at the last time it was given.
+   * @param timeout The timeout.
+   * @param deadline The time to run the timeout at, see {@link #now()}.
+   */
+  public synchronized void schedule(Timeout timeout, long deadline) {
+    if (timeout.slot >= 0) {
+      if (deadline >= timeout.deadline) {
+        // Moved when its current slot comes up.
+        timeout.deadline = deadline;
+        return;
+      }
+      unlink(timeout);
+      timeout.deadline = deadline;
+      link(timeout);
+      return;
+    }
+    timeout.deadline = deadline;
+    link(timeout);
+    if (pending++ == 0 && driver != null) {
+      driver.start();
+    }
+  }
+
+  /**
+   * Cancels a timeout, if it is pending.
+   * @param timeout The timeout.
+   */
+  public synchronized void cancel(Timeout timeout) {
+    if (timeout.slot >= 0) {
+      unlink(timeout);
+      pending--;
+    }
+  }
+
+  /**
+   * Advances the wheel to the current time, and runs the timeouts that are due, in the calling thread.
+   */
+  public void advance() {
+    List<Timeout> due = new ArrayList<>();
+    synchronized (this) {
+      long now = clock.getAsLong();
+      long target = tickOf(now);
+      // After a long pause, each slot needs to be visited once only.
+      long from = Math.max(tick, target - slots.length);
+      tick = target;
+      for (long t = from + 1; t <= target; t++) {
+        int slot = (int) (t & mask);
+        Timeout timeout = slots[slot];
+        slots[slot] = null;
+        while (timeout != null) {
+          Timeout next = timeout.next;
+          timeout.slot = -1;
+          timeout.prev = timeout.next = null;
+          if (timeout.deadline <= now) {
+            pending--;
+            due.add(timeout);
+          } else {
+            link(timeout);
+          }
+          timeout = next;
+        }
+      }
+      if (pending == 0 && driver != null) {
+        driver.stop();
+      }
+    }
+    for (Timeout timeout : due) {
+      timeout.task.run();
+    }
+  }
+
+  private long tickOf(long time) {
+    return Math.floorDiv(time - start, tickMillis);
+  }
+
+  private void link(Timeout timeout) {
+    // Rounded up, so that a timeout doesn't run early.
+    long t = Math.max(tickOf(timeout.deadline + tickMillis - 1), tick + 1);
+    int slot = (int) (t & mask);
+    Timeout head = slots[slot];
+    timeout.slot = slot;
+    timeout.next = head;
+    if (head != null) {
+      head.prev = timeout;
+    }
+    slots[slot] = timeout;
+  }
+
+  private void unlink(Timeout timeout) {
+    if (timeout.prev != null) {
+      timeout.prev.next = timeout.next;
+    } else {
+      slots[timeout.slot] = timeout.next;
+    }
+    if (timeout.next != null) {
+      timeout.next.prev = timeout.prev;
+    }
+    timeout.slot = -1;
+    timeout.prev = timeout.next = null;
+  }
+
+  private static long currentTimeMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+  }
+
+  /**
+   * A task that can be scheduled on a wheel. The same timeout is rescheduled, rather than a new one created, each time
+   * the task is delayed.
+   */
+  public static final class Timeout {
+    private final Runnable task;
+    private long deadline;
+    private int slot = -1;
+    private Timeout prev;
+    private Timeout next;
+
+    public Timeout(Runnable task) {
+      this.task = task;
+    }
+
+    /**
+     * Returns whether the timeout is scheduled and has not run yet.
+     * @return true when pending.
+     */
+    public boolean isPending() {
+      return slot >= 0;
+    }
+  }
+}
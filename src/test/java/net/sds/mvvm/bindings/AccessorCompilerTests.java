@@ -0,0 +1,88 @@
+/*
+ * Copyright 2020 Serge de Schaetzen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package net.sds.mvvm.bindings;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AccessorCompilerTests {
+  @Test
+  public void aPublicMethodCanBeCompiled() throws Exception {
+    Bean bean = new Bean();
+    Function<Object, Object> getter = AccessorCompiler.compileGetter(Bean.class.getMethod("getCount"));
+    BiConsumer<Object, Object> setter = AccessorCompiler.compileSetter(Bean.class.getMethod("setCount", int.class));
+
+    setter.accept(bean, 5);
+    Assert.assertEquals(5, bean.count);
+    Assert.assertEquals(5, getter.apply(bean));
+  }
+
+  @Test
+  public void aPrivateFieldCanBeCompiled() throws Exception {
+    Bean bean = new Bean();
+    Function<Object, Object> getter = AccessorCompiler.compileGetter(Bean.class.getDeclaredField("name"));
+    BiConsumer<Object, Object> setter = AccessorCompiler.compileSetter(Bean.class.getDeclaredField("name"));
+
+    setter.accept(bean, "a");
+    Assert.assertEquals("a", getter.apply(bean));
+  }
+
+  @Test
+  public void aMethodOfANonPublicClassCanBeCompiled() throws Exception {
+    Hidden hidden = new Hidden();
+    Function<Object, Object> getter = AccessorCompiler.compileGetter(Hidden.class.getMethod("getValue"));
+    Assert.assertEquals("hidden", getter.apply(hidden));
+  }
+
+  @Test
+  public void compiledAccessorsAreCached() throws Exception {
+    Assert.assertSame(AccessorCompiler.compileGetter(Bean.class.getMethod("getCount")),
+        AccessorCompiler.compileGetter(Bean.class.getMethod("getCount")));
+  }
+
+  @Test
+  public void theFactoriesUseCompiledAccessors() throws BindingException {
+    Bean bean = new Bean();
+    ValueConsumerFactory.create(bean, "name").accept("b");
+    Assert.assertEquals("b", ValueSupplierFactory.create(bean, "name").get());
+    ValueConsumerFactory.create(bean, "setCount").accept(3);
+    Assert.assertEquals(3, ValueSupplierFactory.create(bean, "getCount").get());
+  }
+
+  public static class Bean {
+    private String name;
+    private int count;
+
+    public int getCount() {
+      return count;
+    }
+
+    public void setCount(int count) {
+      this.count = count;
+    }
+  }
+
+  private static class Hidden {
+    public String getValue() {
+      return "hidden";
+    }
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2020 Serge de Schaetzen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package net.sds.mvvm.bindings;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.JTextField;
+import net.sds.mvvm.properties.Property;
+import net.sds.mvvm.properties.PropertyFactory;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BinderTests {
+  @Test
+  public void closedBindingsAreNoLongerApplied() throws BindingException {
+    // Given:
+    View view = new View();
+    ViewModel vm = new ViewModel();
+    Disposable bindings = Binder.bind(view, vm);
+    view.name.setText("bound");
+    Assert.assertEquals("bound", vm.name.get());
+
+    // When:
+    bindings.close();
+    view.name.setText("closed");
+    vm.name.set("changed");
+
+    // Then:
+    Assert.assertEquals("changed", vm.name.get());
+    Assert.assertEquals("closed", view.name.getText());
+  }
+
+  @Test
+  public void closedViewsCanBeCollected() throws Exception {
+    // Given: a long living view model, bound to many views in turn.
+    ViewModel vm = new ViewModel();
+    List<WeakReference<JTextField>> fields = new ArrayList<>();
+
+    // When:
+    for (int i = 0; i < 1000; i++) {
+      View view = new View();
+      fields.add(new WeakReference<>(view.name));
+      try (Disposable bindings = Binder.bind(view, vm)) {
+        vm.name.set("name" + i);
+        Assert.assertEquals("name" + i, view.name.getText());
+      }
+    }
+
+    // Then: the view model no longer refers to them.
+    for (int i = 0; i < 20 && fields.stream().anyMatch(r -> r.get() != null); i++) {
+      System.gc();
+      Thread.sleep(10);
+    }
+    Assert.assertTrue(fields.stream().allMatch(r -> r.get() == null));
+  }
+
+  @Test
+  public void delayedBindingsAreInitializedImmediately() throws BindingException {
+    // Given:
+    DelayedView view = new DelayedView();
+    ViewModel vm = new ViewModel();
+    view.name.setText("initial");
+
+    // When:
+    Binder.bind(view, vm);
+
+    // Then: neither the initial value nor the view model changes are delayed.
+    Assert.assertEquals("initial", vm.name.get());
+    vm.name.set("changed");
+    Assert.assertEquals("changed", view.name.getText());
+  }
+
+  private static class DelayedView {
+    @Bind(value = "text", target = "name.value", type = BindingType.BI_DIRECTIONAL, debounceMs = 10000)
+    private JTextField name = new JTextField();
+  }
+
+  private static class View {
+    @Bind(value = "text", target = "name.value", type = BindingType.BI_DIRECTIONAL)
+    private JTextField name = new JTextField();
+  }
+
+  private static class ViewModel {
+    private Property<String> name = PropertyFactory.createProperty("name", this, String.class);
+  }
+}
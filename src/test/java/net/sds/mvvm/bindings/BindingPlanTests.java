@@ -0,0 +1,72 @@
+/*
+ * Copyright 2020 Serge de Schaetzen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package net.sds.mvvm.bindings;
+
+import javax.swing.JCheckBox;
+import javax.swing.JTextField;
+import net.sds.mvvm.properties.Property;
+import net.sds.mvvm.properties.PropertyFactory;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BindingPlanTests {
+  @Test
+  public void thePlanIsComputedOncePerClass() throws BindingException {
+    Assert.assertSame(BindingPlan.of(View.class), BindingPlan.of(View.class));
+  }
+
+  @Test
+  public void thePlanContainsAnEntryPerAnnotation() throws BindingException {
+    BindingPlan plan = BindingPlan.of(View.class);
+    Assert.assertEquals(3, plan.getEntries().size());
+    for (BindingPlan.Entry entry : plan.getEntries()) {
+      Assert.assertEquals("value", entry.getTargetPath()[1]);
+      Assert.assertEquals(2, entry.getTargetPath().length);
+    }
+  }
+
+  @Test
+  public void aPlanCanBeReusedForNewInstances() throws BindingException {
+    for (int i = 0; i < 3; i++) {
+      View view = new View();
+      ViewModel vm = new ViewModel();
+      Binder.bind(view, vm);
+
+      view.name.setText("name" + i);
+      Assert.assertEquals("name" + i, vm.name.get());
+      vm.active.set(true);
+      Assert.assertTrue(view.active.isSelected());
+      Assert.assertTrue(view.name.isEditable());
+    }
+  }
+
+  private static class View {
+    @Bind(value = "text", target = "name.value", type = BindingType.BI_DIRECTIONAL)
+    @Bind(value = "editable", target = "active.value", type = BindingType.TARGET_TO_SOURCE)
+    private JTextField name = new JTextField();
+
+    @Bind(value = "selected", target = "active.value", type = BindingType.BI_DIRECTIONAL)
+    private JCheckBox active = new JCheckBox();
+  }
+
+  private static class ViewModel {
+    private Property<String> name = PropertyFactory.createProperty("name", this, String.class);
+    private Property<Boolean> active = PropertyFactory.createProperty("active", this, false);
+  }
+}
@@ -17,13 +17,25 @@
 
 package net.sds.mvvm.bindings;
 
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import javax.swing.SwingUtilities;
+import net.sds.mvvm.properties.ComputedProperty;
+import net.sds.mvvm.properties.IntProperty;
 import net.sds.mvvm.properties.Property;
 import net.sds.mvvm.properties.PropertyFactory;
 import net.sds.mvvm.triggers.PropertyTrigger;
+import net.sds.mvvm.utils.TimerWheel;
 import org.junit.Assert;
 import org.junit.Test;
 
 public class DefaultBindingTests {
+  private long time;
+  private final TimerWheel wheel = new TimerWheel(10, 64, () -> time);
+
   @Test
   public void aBindingWorks() throws BindingException {
     Property<Boolean> sourceProp = PropertyFactory.createProperty("source", this, false);
@@ -107,4 +119,351 @@ public class DefaultBindingTests {
     sourceProp.set(true);
     Assert.assertTrue(targetProp.get());
   }
+
+  @Test
+  public void primitivePropertiesAreBoundWithoutBoxing() throws BindingException {
+    IntProperty sourceProp = PropertyFactory.createIntProperty("source", this);
+    IntProperty targetProp = PropertyFactory.createIntProperty("target", this);
+    ValueSupplier supplier = ValueSupplierFactory.create(sourceProp, Paths.VALUE);
+    ValueConsumer consumer = ValueConsumerFactory.create(targetProp, Paths.VALUE);
+    new BindingBuilder<Integer, Integer>()
+        .withSourceSupplier(supplier)
+        .withSourceTrigger(new PropertyTrigger(sourceProp))
+        .withTargetConsumer(consumer)
+        .build();
+
+    sourceProp.setInt(42);
+    Assert.assertTrue(supplier instanceof IntValueSupplier);
+    Assert.assertTrue(consumer instanceof IntValueConsumer);
+    Assert.assertEquals(42, targetProp.getInt());
+  }
+
+  @Test
+  public void bindingsRunOncePerChangeInDependencyOrder() throws BindingException {
+    // Given: a diamond, a -> b, a -> c, (b, c) -> sum -> target
+    IntProperty a = PropertyFactory.createIntProperty("a", this, 1);
+    IntProperty b = PropertyFactory.createIntProperty("b", this);
+    IntProperty c = PropertyFactory.createIntProperty("c", this);
+    ComputedProperty<Integer> sum = PropertyFactory.computed(() -> b.getInt() + c.getInt());
+    List<Integer> targetValues = new ArrayList<>();
+    new BindingBuilder<Integer, Integer>()
+        .withSourceSupplier(() -> a.getInt() + 1)
+        .withSourceTrigger(new PropertyTrigger(a))
+        .withTargetConsumer(b::set)
+        .build();
+    new BindingBuilder<Integer, Integer>()
+        .withSourceSupplier(() -> a.getInt() * 2)
+        .withSourceTrigger(new PropertyTrigger(a))
+        .withTargetConsumer(c::set)
+        .build();
+    new BindingBuilder<Integer, Integer>()
+        .withSourceSupplier(sum::get)
+        .withSourceTrigger(new PropertyTrigger(sum))
+        .withTargetConsumer(targetValues::add)
+        .build();
+    targetValues.clear();
+
+    // When:
+    a.setInt(10);
+
+    // Then:
+    Assert.assertEquals(1, targetValues.size());
+    Assert.assertEquals(Integer.valueOf(31), targetValues.get(0));
+  }
+
+  @Test
+  public void cyclesThatSettleCanBePropagatedRepeatedly() throws BindingException {
+    // Given: two properties kept in sync by two one-way bindings.
+    IntProperty a = PropertyFactory.createIntProperty("a", this);
+    IntProperty b = PropertyFactory.createIntProperty("b", this);
+    new BindingBuilder<Integer, Integer>()
+        .withSourceSupplier(a::get)
+        .withSourceTrigger(new PropertyTrigger(a))
+        .withTargetConsumer(b::set)
+        .build();
+    new BindingBuilder<Integer, Integer>()
+        .withSourceSupplier(b::get)
+        .withSourceTrigger(new PropertyTrigger(b))
+        .withTargetConsumer(a::set)
+        .build();
+
+    // When: edited in turn, far more often than the maximum rank.
+    for (int i = 1; i <= 5000; i++) {
+      if (i % 2 == 0) {
+        a.setInt(i);
+      } else {
+        b.setInt(i);
+      }
+    }
+
+    // Then:
+    Assert.assertEquals(5000, a.getInt());
+    Assert.assertEquals(5000, b.getInt());
+  }
+
+  @Test
+  public void perFrameBindingsAreAppliedOncePerTurn() throws Exception {
+    Property<String> sourceProp = PropertyFactory.createProperty("source", this, "");
+    List<String> targetValues = new ArrayList<>();
+    onEdt(() -> {
+      new BindingBuilder<String, String>()
+          .withSourceSupplier(sourceProp::get)
+          .withSourceTrigger(new PropertyTrigger(sourceProp))
+          .withTargetConsumer(targetValues::add)
+          .withSchedulingPolicy(SchedulingPolicy.PER_FRAME)
+          .build();
+
+      // The flush posted to the event dispatch thread can't run before this task ends.
+      sourceProp.set("a");
+      sourceProp.set("ab");
+      sourceProp.set("abc");
+      Assert.assertTrue(targetValues.isEmpty());
+
+      BindingScheduler.flush();
+      Assert.assertEquals(1, targetValues.size());
+      Assert.assertEquals("abc", targetValues.get(0));
+
+      sourceProp.set("abcd");
+    });
+
+    // Runs after the posted flush.
+    onEdt(() -> {
+      Assert.assertEquals(2, targetValues.size());
+      Assert.assertEquals("abcd", targetValues.get(1));
+    });
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void perFrameBindingsAreOnlyFlushedOnTheEventDispatchThread() {
+    BindingScheduler.flush();
+  }
+
+  @Test
+  public void debouncedBindingsAreAppliedWhenTriggersPause() throws Exception {
+    Property<String> sourceProp = PropertyFactory.createProperty("source", this, "");
+    List<String> targetValues = new ArrayList<>();
+    new BindingBuilder<String, String>()
+        .withSourceSupplier(sourceProp::get)
+        .withSourceTrigger(new PropertyTrigger(sourceProp))
+        .withTargetConsumer(targetValues::add)
+        .withDebounceMs(100)
+        .withTimerWheel(wheel)
+        .build();
+
+    sourceProp.set("a");
+    advanceTime(50);
+    sourceProp.set("ab");
+    advanceTime(50);
+    sourceProp.set("abc");
+    advanceTime(90);
+    Assert.assertTrue(targetValues.isEmpty());
+
+    advanceTime(20);
+    Assert.assertEquals(1, targetValues.size());
+    Assert.assertEquals("abc", targetValues.get(0));
+  }
+
+  @Test
+  public void throttledBindingsAreAppliedAtMostOncePerDelay() throws Exception {
+    Property<String> sourceProp = PropertyFactory.createProperty("source", this, "");
+    List<String> targetValues = new ArrayList<>();
+    new BindingBuilder<String, String>()
+        .withSourceSupplier(sourceProp::get)
+        .withSourceTrigger(new PropertyTrigger(sourceProp))
+        .withTargetConsumer(targetValues::add)
+        .withThrottleMs(100)
+        .withTimerWheel(wheel)
+        .build();
+
+    sourceProp.set("a");
+    advanceTime(30);
+    sourceProp.set("ab");
+    advanceTime(30);
+    sourceProp.set("abc");
+    Assert.assertEquals(1, targetValues.size());
+    Assert.assertEquals("a", targetValues.get(0));
+
+    advanceTime(30);
+    Assert.assertEquals(1, targetValues.size());
+    advanceTime(20);
+    Assert.assertEquals(2, targetValues.size());
+    Assert.assertEquals("abc", targetValues.get(1));
+  }
+
+  @Test
+  public void onlyTheSourceToTargetDirectionIsDelayed() throws Exception {
+    Property<String> sourceProp = PropertyFactory.createProperty("source", this, "");
+    Property<String> targetProp = PropertyFactory.createProperty("target", this, "");
+    new BindingBuilder<String, String>()
+        .withSourceSupplier(sourceProp::get)
+        .withSourceTrigger(new PropertyTrigger(sourceProp))
+        .withTargetConsumer(targetProp::set)
+        .withTargetSupplier(targetProp::get)
+        .withTargetTrigger(new PropertyTrigger(targetProp))
+        .withSourceConsumer(sourceProp::set)
+        .withDebounceMs(100)
+        .withTimerWheel(wheel)
+        .build();
+
+    targetProp.set("model");
+    Assert.assertEquals("model", sourceProp.get());
+
+    sourceProp.set("typed");
+    Assert.assertEquals("model", targetProp.get());
+    advanceTime(100);
+    Assert.assertEquals("typed", targetProp.get());
+  }
+
+  @Test
+  public void asyncSourcesDeliverTheLatestValueOnTheEventDispatchThread() throws Exception {
+    // Given: an executor running its tasks when asked to.
+    Property<String> sourceProp = PropertyFactory.createProperty("source", this, "");
+    List<Runnable> tasks = new ArrayList<>();
+    List<String> targetValues = new ArrayList<>();
+    List<Boolean> onEdt = new ArrayList<>();
+    new BindingBuilder<String, String>()
+        .withSourceSupplier(sourceProp::get)
+        .withSourceTrigger(new PropertyTrigger(sourceProp))
+        .withTargetConsumer(v -> {
+          targetValues.add(v);
+          onEdt.add(SwingUtilities.isEventDispatchThread());
+        })
+        .withAsyncSource(tasks::add)
+        .build();
+
+    // When:
+    sourceProp.set("a");
+    sourceProp.set("ab");
+    sourceProp.set("abc");
+    Assert.assertEquals(3, tasks.size());
+    Assert.assertTrue(targetValues.isEmpty());
+    tasks.forEach(Runnable::run);
+    SwingUtilities.invokeAndWait(() -> {});
+
+    // Then:
+    Assert.assertEquals(1, targetValues.size());
+    Assert.assertEquals("abc", targetValues.get(0));
+    Assert.assertTrue(onEdt.get(0));
+  }
+
+  @Test
+  public void unchangedValuesAreNotTransferredAgain() throws BindingException {
+    Property<String> sourceProp = PropertyFactory.createProperty("source", this, "a");
+    List<String> targetValues = new ArrayList<>();
+    Binding binding = new BindingBuilder<String, String>()
+        .withSourceSupplier(sourceProp::get)
+        .withTargetConsumer(targetValues::add)
+        .withValueEquality(ValueEquality.EQUALS)
+        .build();
+
+    binding.apply(Direction.UP);
+    binding.apply(Direction.UP);
+    sourceProp.set(new String("a"));
+    binding.apply(Direction.UP);
+    Assert.assertEquals(1, targetValues.size());
+
+    sourceProp.set("b");
+    binding.apply(Direction.UP);
+    Assert.assertEquals(2, targetValues.size());
+  }
+
+  @Test
+  public void valuesCanBeComparedWithAComparator() throws BindingException {
+    IntProperty sourceProp = PropertyFactory.createIntProperty("source", this, 1);
+    IntProperty targetProp = PropertyFactory.createIntProperty("target", this);
+    Property<String> textProp = PropertyFactory.createProperty("text", this, "abc");
+    List<String> targetValues = new ArrayList<>();
+    new BindingBuilder<String, String>()
+        .withSourceSupplier(textProp::get)
+        .withSourceTrigger(new PropertyTrigger(textProp))
+        .withTargetConsumer(targetValues::add)
+        .withValueEquality(ValueEquality.comparing(String.CASE_INSENSITIVE_ORDER))
+        .build()
+        .apply(Direction.UP);
+    textProp.set("ABC");
+    Assert.assertEquals(1, targetValues.size());
+
+    // Primitives are compared by value.
+    List<Integer> intValues = new ArrayList<>();
+    new BindingBuilder<Integer, Integer>()
+        .withSourceSupplier(ValueSupplierFactory.create(sourceProp, Paths.VALUE))
+        .withSourceTrigger(new PropertyTrigger(sourceProp))
+        .withTargetConsumer((IntValueConsumer) v -> {
+          intValues.add(v);
+          targetProp.setInt(v);
+        })
+        .withValueEquality(ValueEquality.IDENTITY)
+        .build()
+        .apply(Direction.UP);
+    sourceProp.setInt(1000);
+    sourceProp.setInt(1000);
+    Assert.assertEquals(2, intValues.size());
+    Assert.assertEquals(1000, targetProp.getInt());
+
+    // Unless the comparator decides.
+    List<Integer> roundedValues = new ArrayList<>();
+    new BindingBuilder<Integer, Integer>()
+        .withSourceSupplier(ValueSupplierFactory.create(sourceProp, Paths.VALUE))
+        .withSourceTrigger(new PropertyTrigger(sourceProp))
+        .withTargetConsumer((IntValueConsumer) roundedValues::add)
+        .withValueEquality(ValueEquality.comparing(Comparator.comparingInt((Integer i) -> i / 10)))
+        .build()
+        .apply(Direction.UP);
+    sourceProp.setInt(1005);
+    sourceProp.setInt(1010);
+    Assert.assertEquals(Arrays.asList(1000, 1010), roundedValues);
+  }
+
+  @Test
+  public void aValueIsTransferredAgainOnceTheOtherEndChanged() throws BindingException {
+    Property<String> sourceProp = PropertyFactory.createProperty("source", this, "a");
+    Property<String> targetProp = PropertyFactory.createProperty("target", this, "");
+    Binding binding = new BindingBuilder<String, String>()
+        .withSourceSupplier(sourceProp::get)
+        .withTargetConsumer(targetProp::set)
+        .withTargetSupplier(targetProp::get)
+        .withSourceConsumer(sourceProp::set)
+        .withValueEquality(ValueEquality.EQUALS)
+        .build();
+    binding.apply(Direction.UP);
+
+    targetProp.set("b");
+    binding.apply(Direction.DOWN);
+    sourceProp.set("a");
+    binding.apply(Direction.UP);
+
+    Assert.assertEquals("a", targetProp.get());
+  }
+
+  private void advanceTime(long millis) {
+    for (long end = time + millis; time < end; ) {
+      time += 5;
+      wheel.advance();
+    }
+  }
+
+  private static void onEdt(EdtTask task) throws Exception {
+    try {
+      SwingUtilities.invokeAndWait(() -> {
+        try {
+          task.run();
+        } catch (Exception e) {
+          throw new RuntimeException(e);
+        }
+      });
+    } catch (InvocationTargetException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException && cause.getCause() instanceof Exception) {
+        throw (Exception) cause.getCause();
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw (Exception) cause;
+    }
+  }
+
+  private interface EdtTask {
+    void run() throws Exception;
+  }
 }
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2020 Serge de Schaetzen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package net.sds.mvvm.bindings;
+
+import net.sds.mvvm.properties.Property;
+import net.sds.mvvm.properties.PropertyFactory;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GeneratedBinderTests {
+  @Test
+  public void theBinderNameIsDerivedFromTheClassName() {
+    Assert.assertEquals("a.b.ViewBinder", GeneratedBinder.getBinderName("a.b.View"));
+    Assert.assertEquals("a.b.Outer_ViewBinder", GeneratedBinder.getBinderName("a.b.Outer$View"));
+    Assert.assertEquals("ViewBinder", GeneratedBinder.getBinderName("View"));
+  }
+
+  @Test
+  public void reflectionIsUsedWithoutGeneratedBinder() {
+    Assert.assertFalse(GeneratedBinder.find(ViewModel.class).isPresent());
+  }
+
+  static class ViewModel {
+    private Property<String> name = PropertyFactory.createProperty("name", this, String.class);
+  }
+}
@@ -17,6 +17,9 @@
 
 package net.sds.mvvm.collections;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import net.sds.mvvm.utils.DefaultNotifyPropertyChanged;
 import org.junit.Assert;
 import org.junit.Test;
@@ -65,6 +68,160 @@ public class FilteredObservableCollectionViewTests {
     Assert.assertEquals(3, filtered.size());
   }
 
+  @Test
+  public void readmittedElementsKeepTheirSourcePosition() {
+    // Given:
+    ObservableCollection<TestBean> source = ObservableCollectionFactory.createCollection();
+    for (int i = 0; i < 5; i++) {
+      source.add(new TestBean(true));
+    }
+    ObservableCollection<TestBean> filtered = ObservableCollectionFactory.createCollection(source, b -> b.isEnabled());
+    source.get(2).setEnabled(false);
+    List<CollectionChangedEvent<TestBean>> events = new ArrayList<>();
+    filtered.addListener(events::add);
+
+    // When:
+    source.get(2).setEnabled(true);
+
+    // Then:
+    Assert.assertEquals(source, filtered);
+    Assert.assertEquals(1, events.size());
+    Assert.assertEquals(IndexRanges.range(2, 3), events.get(0).getRanges());
+  }
+
+  @Test
+  public void sourceChangesAreMappedToTheView() {
+    // Given:
+    ObservableCollection<TestBean> source = ObservableCollectionFactory.createCollection();
+    for (int i = 0; i < 6; i++) {
+      source.add(new TestBean(i % 2 == 0));
+    }
+    FilteredObservableCollectionView<TestBean> filtered =
+        (FilteredObservableCollectionView<TestBean>) ObservableCollectionFactory.createCollection(source, b -> b.isEnabled());
+    TestBean added = new TestBean(true);
+    List<TestBean> removed = Arrays.asList(source.get(1), source.get(4));
+
+    // When:
+    source.addAll(1, Arrays.asList(added, new TestBean(false)));
+    source.removeAll(removed);
+
+    // Then:
+    Assert.assertEquals(Arrays.asList(source.get(0), added, source.get(3)), filtered);
+    Assert.assertEquals(0, filtered.getSourceIndex(0));
+    Assert.assertEquals(1, filtered.getSourceIndex(1));
+    Assert.assertEquals(3, filtered.getSourceIndex(2));
+
+    // When:
+    source.get(4).setEnabled(true);
+
+    // Then:
+    Assert.assertEquals(Arrays.asList(source.get(0), added, source.get(3), source.get(4)), filtered);
+  }
+
+  @Test
+  public void changedElementsAreFoundAfterSourceChanges() {
+    // Given:
+    ObservableCollection<TestBean> source = ObservableCollectionFactory.createCollection();
+    for (int i = 0; i < 6; i++) {
+      source.add(new TestBean(false));
+    }
+    TestBean twice = new TestBean(false);
+    source.add(1, twice);
+    source.add(twice);
+    ObservableCollection<TestBean> filtered = ObservableCollectionFactory.createCollection(source, b -> b.isEnabled());
+    TestBean last = source.get(6);
+    source.addAll(0, Arrays.asList(new TestBean(false), new TestBean(false)));
+    source.remove(4);
+
+    // When:
+    last.setEnabled(true);
+    twice.setEnabled(true);
+
+    // Then:
+    Assert.assertEquals(Arrays.asList(twice, last, twice), filtered);
+    Assert.assertEquals(3, ((FilteredObservableCollectionView<TestBean>) filtered).getSourceIndex(0));
+
+    // When:
+    source.remove(2);
+    twice.setEnabled(false);
+
+    // Then:
+    Assert.assertEquals(Arrays.asList(last), filtered);
+  }
+
+  @Test
+  public void elementsChangedDuringABatchUpdateOfTheSourceAreMappedToTheView() {
+    // Given:
+    ObservableCollection<TestBean> source = ObservableCollectionFactory.createCollection();
+    TestBean x = new TestBean(true);
+    TestBean y = new TestBean(false);
+    TestBean z = new TestBean(true);
+    source.addAll(Arrays.asList(x, y));
+    FilteredObservableCollectionView<TestBean> filtered =
+        (FilteredObservableCollectionView<TestBean>) ObservableCollectionFactory.createCollection(source, b -> b.isEnabled());
+
+    // When:
+    try (ObservableCollection.Update update = source.beginUpdate()) {
+      source.add(0, z);
+      y.setEnabled(true);
+    }
+
+    // Then:
+    Assert.assertEquals(Arrays.asList(z, x, y), filtered);
+    Assert.assertEquals(0, filtered.getSourceIndex(0));
+    Assert.assertEquals(1, filtered.getSourceIndex(1));
+    Assert.assertEquals(2, filtered.getSourceIndex(2));
+
+    // When:
+    source.remove(y);
+
+    // Then:
+    Assert.assertEquals(Arrays.asList(z, x), filtered);
+  }
+
+  @Test
+  public void modificationsOfTheViewAreAppliedToTheSource() {
+    // Given:
+    ObservableCollection<TestBean> source = ObservableCollectionFactory.createCollection();
+    TestBean a = new TestBean(true);
+    TestBean b = new TestBean(false);
+    TestBean c = new TestBean(true);
+    source.addAll(Arrays.asList(a, b, c));
+    FilteredObservableCollectionView<TestBean> filtered =
+        (FilteredObservableCollectionView<TestBean>) ObservableCollectionFactory.createCollection(source, t -> t.isEnabled());
+    TestBean hidden = new TestBean(false);
+    TestBean shown = new TestBean(true);
+
+    // When:
+    filtered.add(hidden);
+    filtered.add(1, shown);
+
+    // Then:
+    Assert.assertEquals(Arrays.asList(a, b, shown, c, hidden), source);
+    Assert.assertEquals(Arrays.asList(a, shown, c), filtered);
+    Assert.assertEquals(2, filtered.getSourceIndex(1));
+
+    // When:
+    filtered.remove(0);
+    filtered.removeIf(t -> t == c);
+
+    // Then:
+    Assert.assertEquals(Arrays.asList(b, shown, hidden), source);
+    Assert.assertEquals(Arrays.asList(shown), filtered);
+    Assert.assertEquals(1, filtered.getSourceIndex(0));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void aViewOfAPlainCollectionCannotBeModified() {
+    // Given:
+    FilteredObservableCollectionView<TestBean> filtered =
+        new FilteredObservableCollectionView<>(new ArrayList<>(Arrays.asList(new TestBean(true))), t -> t.isEnabled(), null);
+    filtered.initialize();
+
+    // When:
+    filtered.add(new TestBean(true));
+  }
+
   private static class TestBean extends DefaultNotifyPropertyChanged {
     public boolean enabled;
     public TestBean(boolean enabled) {
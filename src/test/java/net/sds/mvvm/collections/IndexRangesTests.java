@@ -0,0 +1,73 @@
+/*
+ * Copyright 2020 Serge de Schaetzen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package net.sds.mvvm.collections;
+
+import java.util.Arrays;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class IndexRangesTests {
+  @Test
+  public void adjacentIndicesShouldBeJoined() {
+    // When:
+    IndexRanges ranges = IndexRanges.of(0, 1, 2, 5, 7, 8);
+
+    // Then:
+    Assert.assertEquals(3, ranges.getRangeCount());
+    Assert.assertEquals(6, ranges.size());
+    Assert.assertEquals("{[0, 3), [5, 6), [7, 9)}", ranges.toString());
+    Assert.assertArrayEquals(new int[]{0, 1, 2, 5, 7, 8}, ranges.toArray());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void indicesShouldBeAscending() {
+    // When:
+    IndexRanges.of(3, 1);
+  }
+
+  @Test
+  public void rangesShouldBeMappedAroundTheBaseIndices() {
+    // Given:
+    IndexRanges base = IndexRanges.of(1, 2, 5);
+    IndexRanges other = IndexRanges.of(0, 1, 2, 3);
+
+    // When:
+    IndexRanges mapped = IndexRanges.map(base, other);
+
+    // Then:
+    Assert.assertArrayEquals(new int[]{0, 3, 4, 6}, mapped.toArray());
+    Assert.assertArrayEquals(new int[]{0, 1, 2, 3, 4, 5, 6}, IndexRanges.union(base, mapped).toArray());
+  }
+
+  @Test
+  public void clearShouldReportASingleRange() {
+    // Given:
+    ObservableCollection<String> col = ObservableCollectionFactory.createCollection();
+    col.addAll(Arrays.asList("a", "b", "c"));
+    CollectionChangedEvent<?>[] events = new CollectionChangedEvent<?>[1];
+    col.addListener(e -> events[0] = e);
+
+    // When:
+    col.clear();
+
+    // Then:
+    Assert.assertEquals(IndexRanges.range(0, 3), events[0].getRanges());
+    Assert.assertEquals(Arrays.asList("a", "b", "c"), events[0].getOldItems());
+  }
+}
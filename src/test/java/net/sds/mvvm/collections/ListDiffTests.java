@@ -0,0 +1,103 @@
+/*
+ * Copyright 2020 Serge de Schaetzen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package net.sds.mvvm.collections;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ListDiffTests {
+  @Test
+  public void onlyTheChangedElementsAreReported() {
+    // Given:
+    List<String> a = Arrays.asList("a", "b", "c", "d", "e");
+    List<String> b = Arrays.asList("a", "c", "d", "x", "e");
+
+    // When:
+    ListDiff diff = ListDiff.of(a, b, 10);
+
+    // Then:
+    Assert.assertArrayEquals(new int[]{1}, diff.getRemoved().toArray());
+    Assert.assertArrayEquals(new int[]{3}, diff.getAdded().toArray());
+  }
+
+  @Test
+  public void tooManyDifferencesYieldNoScript() {
+    // When:
+    ListDiff diff = ListDiff.of(Arrays.asList(1, 2, 3), Arrays.asList(4, 5, 6), 5);
+
+    // Then:
+    Assert.assertNull(diff);
+  }
+
+  @Test
+  public void applyingTheScriptYieldsTheNewList() {
+    Random random = new Random(7);
+    for (int run = 0; run < 200; run++) {
+      // Given:
+      List<Integer> a = randomList(random);
+      List<Integer> b = randomList(random);
+
+      // When:
+      ListDiff diff = ListDiff.of(a, b, a.size() + b.size());
+
+      // Then:
+      List<Integer> result = new ArrayList<>(a);
+      int[] removed = diff.getRemoved().toArray();
+      for (int i = removed.length - 1; i >= 0; i--)
+        result.remove(removed[i]);
+      for (int i : diff.getAdded().toArray())
+        result.add(i, b.get(i));
+      Assert.assertEquals(b, result);
+      Assert.assertEquals(a.size() - removed.length, b.size() - diff.getAdded().size());
+    }
+  }
+
+  @Test
+  public void aResetOfTheSourceIsForwardedAsTheDifferences() {
+    // Given:
+    ObservableCollection<Integer> source = ObservableCollectionFactory.createCollection();
+    source.addAll(Arrays.asList(1, 2, 3));
+    ObservableCollection<Integer> sorted = ObservableCollectionFactory.createCollection(source, Integer::compare);
+    List<CollectionChangedEvent<Integer>> events = new ArrayList<>();
+    sorted.addListener(events::add);
+
+    // When:
+    try (ObservableCollection.Update update = source.beginUpdate()) {
+      source.add(4);
+      source.remove(Integer.valueOf(4));
+      source.add(5);
+      source.remove(Integer.valueOf(5));
+    }
+
+    // Then:
+    Assert.assertTrue(events.isEmpty());
+  }
+
+  private static List<Integer> randomList(Random random) {
+    List<Integer> list = new ArrayList<>();
+    int size = random.nextInt(12);
+    for (int i = 0; i < size; i++)
+      list.add(random.nextInt(5));
+    return list;
+  }
+}
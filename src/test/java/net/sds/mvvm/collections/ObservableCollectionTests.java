@@ -17,7 +17,12 @@
 
 package net.sds.mvvm.collections;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
 import net.sds.mvvm.collections.CollectionChangedEvent.ChangeType;
 import org.junit.Assert;
 import org.junit.Test;
@@ -58,6 +63,38 @@ public class ObservableCollectionTests {
     Assert.assertEquals(2, ((CollectionChangedEvent) event).getNewItems().size());
   }
 
+  @Test
+  public void aCollectionCanBeAddedToItself() {
+    // Given:
+    ObservableCollection<String> col = ObservableCollectionFactory.createCollection(Arrays.asList("a", "b"));
+    col.addListener(e -> event = e);
+
+    // When:
+    col.addAll(col);
+
+    // Then:
+    Assert.assertEquals(Arrays.asList("a", "b", "a", "b"), col);
+    Assert.assertEquals(Arrays.asList("a", "b"), new ArrayList<>(event.getNewItems()));
+    Assert.assertArrayEquals(new int[] {2, 3}, event.getIndices());
+  }
+
+  @Test
+  public void addedItemsAreCopiedWhenBuffered() {
+    // Given:
+    ObservableCollection<String> col = ObservableCollectionFactory.createCollection();
+    ObservableCollection<String> sorted = ObservableCollectionFactory.createCollection(col, String::compareTo);
+    List<String> items = new ArrayList<>(Arrays.asList("b", "a"));
+
+    // When: the caller reuses its list before the update ends.
+    try (ObservableCollection.Update update = col.beginUpdate()) {
+      col.addAll(items);
+      items.clear();
+    }
+
+    // Then:
+    Assert.assertEquals(Arrays.asList("a", "b"), sorted);
+  }
+
   @Test
   public void anItemCanBeAddedAtAnIndex() {
     // Given:
@@ -141,7 +178,9 @@ public class ObservableCollectionTests {
 
     // Then:
     Assert.assertNotNull(event);
-    Assert.assertTrue(event instanceof CollectionResetEvent);
+    Assert.assertTrue(event instanceof CollectionElementsRemovedEvent);
+    Assert.assertArrayEquals(new int[]{0, 1}, event.getIndices());
+    Assert.assertEquals(Arrays.asList("a", "b"), event.getOldItems());
     Assert.assertEquals(0, col.size());
   }
 
@@ -158,11 +197,35 @@ public class ObservableCollectionTests {
 
     // Then:
     Assert.assertNotNull(event);
-    Assert.assertTrue(event instanceof CollectionResetEvent);
+    Assert.assertTrue(event instanceof CollectionElementsRemovedEvent);
+    Assert.assertArrayEquals(new int[]{0}, event.getIndices());
     Assert.assertTrue(col.contains("b"));
     Assert.assertEquals(1, col.size());
   }
 
+  @Test
+  public void aFailingFilterLeavesTheCollectionUnchanged() {
+    // Given:
+    ObservableCollection<String> col = ObservableCollectionFactory.createCollection(Arrays.asList("a", "b", "c", "d"));
+    col.addListener(e -> event = e);
+
+    // When:
+    try {
+      col.removeIf(s -> {
+        if (s.equals("c"))
+          throw new IllegalStateException();
+        return s.equals("a");
+      });
+      Assert.fail();
+    } catch (IllegalStateException e) {
+      // expected
+    }
+
+    // Then:
+    Assert.assertEquals(Arrays.asList("a", "b", "c", "d"), col);
+    Assert.assertNull(event);
+  }
+
   @Test
   public void aRangeCanBeRemoved() {
     // Given:
@@ -176,7 +239,9 @@ public class ObservableCollectionTests {
 
     // Then:
     Assert.assertNotNull(event);
-    Assert.assertTrue(event instanceof CollectionResetEvent);
+    Assert.assertTrue(event instanceof CollectionElementsRemovedEvent);
+    Assert.assertArrayEquals(new int[]{0}, event.getIndices());
+    Assert.assertEquals(Arrays.asList("a"), event.getOldItems());
     Assert.assertTrue(col.contains("b"));
     Assert.assertEquals(1, col.size());
   }
@@ -199,7 +264,9 @@ public class ObservableCollectionTests {
 
     // Then:
     Assert.assertNotNull(event);
-    Assert.assertTrue(event instanceof CollectionResetEvent);
+    Assert.assertTrue(event instanceof CollectionElementsAddedEvent);
+    Assert.assertArrayEquals(new int[]{0}, event.getIndices());
+    Assert.assertEquals(Arrays.asList("c"), event.getNewItems());
     Assert.assertTrue(col.contains("b"));
     Assert.assertTrue(col.contains("c"));
     Assert.assertEquals(2, col.size());
@@ -218,11 +285,131 @@ public class ObservableCollectionTests {
 
     // Then:
     Assert.assertNotNull(event);
-    Assert.assertTrue(event instanceof CollectionResetEvent);
+    Assert.assertTrue(event instanceof CollectionElementsRemovedEvent);
+    Assert.assertArrayEquals(new int[]{0}, event.getIndices());
     Assert.assertTrue(col.contains("b"));
     Assert.assertEquals(1, col.size());
   }
 
+  @Test
+  public void bulkRemovalsOnlyReportTheRemovedElements() {
+    // Given:
+    ObservableCollection<Integer> col = ObservableCollectionFactory.createCollection();
+    for (int i = 0; i < 100; i++)
+      col.add(i);
+    List<CollectionChangedEvent<Integer>> events = new ArrayList<>();
+    col.addListener(events::add);
+
+    // When:
+    col.removeIf(i -> i % 10 == 3);
+
+    // Then:
+    Assert.assertEquals(1, events.size());
+    Assert.assertArrayEquals(new int[]{3, 13, 23, 33, 43, 53, 63, 73, 83, 93}, events.get(0).getIndices());
+    Assert.assertEquals(Arrays.asList(3, 13, 23, 33, 43, 53, 63, 73, 83, 93), events.get(0).getOldItems());
+    Assert.assertEquals(90, col.size());
+    Assert.assertEquals(Integer.valueOf(4), col.get(3));
+    Assert.assertEquals(Integer.valueOf(99), col.get(89));
+
+    // When:
+    events.clear();
+    col.removeIf(i -> i > 1000);
+
+    // Then:
+    Assert.assertTrue(events.isEmpty());
+  }
+
+  @Test
+  public void eventsAreDeferredDuringAnUpdate() {
+    // Given:
+    ObservableCollection<String> col = ObservableCollectionFactory.createCollection(Arrays.asList("a", "b", "c", "d"));
+    List<CollectionChangedEvent<String>> events = new ArrayList<>();
+    col.addListener(events::add);
+
+    // When:
+    try (ObservableCollection.Update update = col.beginUpdate()) {
+      col.add("e");
+      col.add(0, "f");
+      col.addAll(Arrays.asList("g", "h"));
+      Assert.assertTrue(events.isEmpty());
+    }
+
+    // Then:
+    Assert.assertEquals(1, events.size());
+    Assert.assertTrue(events.get(0) instanceof CollectionElementsAddedEvent);
+    Assert.assertArrayEquals(new int[]{0, 5, 6, 7}, events.get(0).getIndices());
+    Assert.assertEquals(Arrays.asList("f", "e", "g", "h"), events.get(0).getNewItems());
+  }
+
+  @Test
+  public void updatesCanBeNested() {
+    // Given:
+    ObservableCollection<String> col = ObservableCollectionFactory.createCollection(Arrays.asList("a", "b", "c", "d"));
+    List<CollectionChangedEvent<String>> events = new ArrayList<>();
+    col.addListener(events::add);
+
+    // When:
+    col.beginUpdate();
+    col.remove("b");
+    col.beginUpdate();
+    col.remove("a");
+    col.endUpdate();
+    Assert.assertTrue(events.isEmpty());
+    col.remove("d");
+    col.endUpdate();
+
+    // Then:
+    Assert.assertEquals(1, events.size());
+    Assert.assertArrayEquals(new int[]{0, 1, 3}, events.get(0).getIndices());
+    Assert.assertEquals(Arrays.asList("a", "b", "d"), events.get(0).getOldItems());
+  }
+
+  @Test
+  public void coalescedEventsDescribeTheChanges() {
+    Random random = new Random(42);
+    for (int run = 0; run < 50; run++) {
+      // Given:
+      List<Integer> initial = new ArrayList<>();
+      for (int i = 0; i < 20; i++)
+        initial.add(i);
+      ObservableCollection<Integer> col = ObservableCollectionFactory.createCollection(initial);
+      List<Integer> replay = new ArrayList<>(initial);
+      col.addListener(e -> apply(replay, e));
+
+      // When:
+      try (ObservableCollection.Update update = col.beginUpdate()) {
+        for (int i = 0; i < 8; i++) {
+          if (random.nextBoolean() || col.isEmpty())
+            col.add(random.nextInt(col.size() + 1), 100 + i);
+          else
+            col.remove(random.nextInt(col.size()));
+        }
+      }
+
+      // Then:
+      Assert.assertEquals(col, replay);
+    }
+  }
+
+  private static void apply(List<Integer> list, CollectionChangedEvent<Integer> e) {
+    switch (e.getChangeType()) {
+      case ADD:
+        Iterator<? extends Integer> items = e.getNewItems().iterator();
+        for (int i : e.getIndices())
+          list.add(i, items.next());
+        break;
+      case REMOVE:
+        int[] indices = e.getIndices();
+        for (int i = indices.length - 1; i >= 0; i--)
+          list.remove(indices[i]);
+        break;
+      case RESET:
+        list.clear();
+        list.addAll(e.getSource());
+        break;
+    }
+  }
+
   @Test
   public void aCollectionCanBeCleared() {
     // Given:
@@ -271,4 +458,90 @@ public class ObservableCollectionTests {
     Assert.assertNotNull(result);
     Assert.assertEquals("B", result);
   }
-}
\ No newline at end of file
+
+  @Test
+  public void trackedElementsFireUpdates() {
+    // Given:
+    ObservableCollection<SortedObservableCollectionViewTests.Price> col = ObservableCollectionFactory.createCollection();
+    SortedObservableCollectionViewTests.Price price = new SortedObservableCollectionViewTests.Price(1);
+    col.add(price);
+    col.setElementTracking(true);
+    List<CollectionChangedEvent<SortedObservableCollectionViewTests.Price>> events = new ArrayList<>();
+    col.addListener(events::add);
+
+    // When:
+    col.add(0, new SortedObservableCollectionViewTests.Price(2));
+    price.setValue(3);
+
+    // Then:
+    Assert.assertEquals(2, events.size());
+    CollectionElementUpdatedEvent<?> update = (CollectionElementUpdatedEvent<?>) events.get(1);
+    Assert.assertEquals(ChangeType.UPDATE, update.getChangeType());
+    Assert.assertArrayEquals(new int[]{1}, update.getIndices());
+    Assert.assertEquals("value", update.getPropertyName());
+
+    // When:
+    events.clear();
+    col.remove(price);
+    price.setValue(4);
+
+    // Then:
+    Assert.assertEquals(1, events.size());
+    Assert.assertEquals(ChangeType.REMOVE, events.get(0).getChangeType());
+  }
+
+  @Test
+  public void collectionsWithoutBatchUpdatesCanBeUpdated() {
+    // Given:
+    ObservableCollection<String> col = new PlainCollection<>();
+
+    // When:
+    try (ObservableCollection.Update update = col.beginUpdate()) {
+      col.add("a");
+    }
+
+    // Then:
+    Assert.assertEquals(Arrays.asList("a"), col);
+  }
+
+  @Test
+  public void elementTrackingIsUnsupportedByDefault() {
+    // Given:
+    ObservableCollection<String> col = new PlainCollection<>();
+
+    // When:
+    col.setElementTracking(false);
+
+    // Then:
+    Assert.assertFalse(col.isElementTracking());
+    try {
+      col.setElementTracking(true);
+      Assert.fail();
+    } catch (UnsupportedOperationException e) {
+      Assert.assertFalse(col.isElementTracking());
+    }
+  }
+
+  /**
+   * An ObservableCollection implementing the abstract methods only.
+   */
+  private static class PlainCollection<T> extends ArrayList<T> implements ObservableCollection<T> {
+    @Override
+    public void addListener(CollectionChangedListener<T> l) {
+    }
+
+    @Override
+    public void removeListener(CollectionChangedListener<T> l) {
+    }
+
+    @Override
+    public void removeRange(int fromIndex, int toIndex) {
+      super.removeRange(fromIndex, toIndex);
+    }
+
+    @Override
+    public T findEntry(Predicate<T> predicate) {
+      return stream().filter(predicate).findFirst().orElse(null);
+    }
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2020 Serge de Schaetzen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package net.sds.mvvm.collections;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.swing.JTable;
+import javax.swing.event.TableModelEvent;
+import javax.swing.table.DefaultTableModel;
+import net.sds.mvvm.bindings.BindingValueException;
+import net.sds.mvvm.bindings.Paths;
+import net.sds.mvvm.bindings.ValueConsumerFactory;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ObservableTableModelTests {
+  @Test
+  public void changesAreForwardedForTheAffectedRows() {
+    // Given:
+    ObservableCollection<String> col = ObservableCollectionFactory.createCollection();
+    col.addAll(Arrays.asList("a", "b", "c", "d", "e"));
+    ObservableTableModel<String> model = new ObservableTableModel<>(col)
+        .addColumn("Value", String.class, s -> s)
+        .addColumn("Length", Integer.class, String::length);
+    List<TableModelEvent> events = new ArrayList<>();
+    model.addTableModelListener(events::add);
+
+    // When:
+    col.removeAll(Arrays.asList("b", "d", "e"));
+    col.addAll(1, Arrays.asList("x", "y"));
+
+    // Then:
+    Assert.assertEquals(3, events.size());
+    assertEvent(events.get(0), TableModelEvent.DELETE, 3, 4);
+    assertEvent(events.get(1), TableModelEvent.DELETE, 1, 1);
+    assertEvent(events.get(2), TableModelEvent.INSERT, 1, 2);
+    Assert.assertEquals(4, model.getRowCount());
+    Assert.assertEquals("y", model.getValueAt(2, 0));
+    Assert.assertEquals(1, model.getValueAt(2, 1));
+  }
+
+  @Test
+  public void aCollectionBoundToTheModelPathIsShownInTheTableModel() throws Exception {
+    // Given:
+    ObservableTableModel<String> model = new ObservableTableModel<String>(null)
+        .addColumn("Value", String.class, s -> s);
+    JTable table = new JTable(model);
+    ObservableCollection<String> col = ObservableCollectionFactory.createCollection(Arrays.asList("a", "b"));
+
+    // When:
+    ValueConsumerFactory.create(table, Paths.MODEL).accept(col);
+
+    // Then:
+    Assert.assertSame(model, table.getModel());
+    Assert.assertSame(col, model.getCollection());
+    Assert.assertEquals(2, table.getRowCount());
+  }
+
+  @Test(expected = BindingValueException.class)
+  public void aCollectionCanNotBeBoundToAnotherTableModel() throws Exception {
+    JTable table = new JTable(new DefaultTableModel());
+    ObservableCollection<String> col = ObservableCollectionFactory.createCollection(Arrays.asList("a", "b"));
+
+    ValueConsumerFactory.create(table, Paths.MODEL).accept(col);
+  }
+
+  @Test
+  public void aPropertyChangeOnlyUpdatesItsCell() {
+    // Given:
+    ObservableCollection<SortedObservableCollectionViewTests.Price> col = ObservableCollectionFactory.createCollection();
+    col.addAll(Arrays.asList(new SortedObservableCollectionViewTests.Price(1), new SortedObservableCollectionViewTests.Price(2)));
+    col.setElementTracking(true);
+    ObservableTableModel<SortedObservableCollectionViewTests.Price> model = new ObservableTableModel<>(col)
+        .addColumn("Text", String.class, p -> "Price")
+        .addColumn("Value", Integer.class, SortedObservableCollectionViewTests.Price::getValue);
+    List<TableModelEvent> events = new ArrayList<>();
+    model.addTableModelListener(events::add);
+
+    // When:
+    col.get(1).setValue(5);
+
+    // Then:
+    Assert.assertEquals(1, events.size());
+    assertEvent(events.get(0), TableModelEvent.UPDATE, 1, 1);
+    Assert.assertEquals(1, events.get(0).getColumn());
+  }
+
+  private static void assertEvent(TableModelEvent e, int type, int firstRow, int lastRow) {
+    Assert.assertEquals(type, e.getType());
+    Assert.assertEquals(firstRow, e.getFirstRow());
+    Assert.assertEquals(lastRow, e.getLastRow());
+  }
+}
@@ -17,8 +17,12 @@
 
 package net.sds.mvvm.collections;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.List;
+import net.sds.mvvm.collections.CollectionChangedEvent.ChangeType;
+import net.sds.mvvm.utils.DefaultNotifyPropertyChanged;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -63,4 +67,144 @@ public class SortedObservableCollectionViewTests {
       Assert.assertTrue(sorted.get(i).compareTo(sorted.get(i + 1)) <= 0);
     }
   }
+
+  @Test
+  public void aChangedElementIsMovedToItsNewPosition() {
+    // Given:
+    ObservableCollection<Price> source = ObservableCollectionFactory.createCollection();
+    source.addAll(Arrays.asList(new Price(1), new Price(2), new Price(3), new Price(4)));
+    ObservableCollection<Price> sorted = ObservableCollectionFactory.createCollection(source, Comparator.comparingInt(Price::getValue));
+    List<CollectionChangedEvent<Price>> events = new ArrayList<>();
+    sorted.addListener(events::add);
+    Price price = source.get(0);
+
+    // When:
+    price.setValue(5);
+
+    // Then:
+    Assert.assertEquals(3, sorted.indexOf(price));
+    Assert.assertEquals(2, events.size());
+    Assert.assertEquals(ChangeType.REMOVE, events.get(0).getChangeType());
+    Assert.assertEquals(IndexRanges.range(0, 1), events.get(0).getRanges());
+    Assert.assertEquals(ChangeType.ADD, events.get(1).getChangeType());
+    Assert.assertEquals(IndexRanges.range(3, 4), events.get(1).getRanges());
+
+    // When:
+    events.clear();
+    source.get(1).setValue(3);
+
+    // Then:
+    Assert.assertTrue(events.isEmpty());
+  }
+
+  @Test
+  public void changedElementsAreFoundAfterTheViewChanged() {
+    // Given:
+    ObservableCollection<Price> source = ObservableCollectionFactory.createCollection();
+    source.addAll(Arrays.asList(new Price(10), new Price(20), new Price(30), new Price(40)));
+    ObservableCollection<Price> sorted = ObservableCollectionFactory.createCollection(source, Comparator.comparingInt(Price::getValue));
+    Price price = source.get(2);
+    Price twice = new Price(25);
+    source.addAll(Arrays.asList(new Price(1), new Price(2), twice, twice));
+    source.remove(0);
+
+    // When:
+    price.setValue(5);
+    twice.setValue(50);
+
+    // Then:
+    Assert.assertEquals(Arrays.asList(1, 2, 5, 20, 40, 50, 50), values(sorted));
+    Assert.assertEquals(2, sorted.indexOf(price));
+
+    // When:
+    source.remove(twice);
+    twice.setValue(0);
+
+    // Then:
+    Assert.assertEquals(Arrays.asList(0, 1, 2, 5, 20, 40), values(sorted));
+  }
+
+  @Test
+  public void fewAdditionsAreInsertedAsASingleEvent() {
+    // Given:
+    ObservableCollection<Integer> source = ObservableCollectionFactory.createCollection();
+    source.addAll(Arrays.asList(10, 20, 30));
+    ObservableCollection<Integer> sorted = ObservableCollectionFactory.createCollection(source, Comparator.naturalOrder());
+    List<CollectionChangedEvent<Integer>> events = new ArrayList<>();
+    sorted.addListener(events::add);
+
+    // When:
+    source.addAll(Arrays.asList(35, 5, 20, 15, 0));
+
+    // Then:
+    Assert.assertEquals(Arrays.asList(0, 5, 10, 15, 20, 20, 30, 35), sorted);
+    Assert.assertEquals(1, events.size());
+    Assert.assertEquals(Arrays.asList(0, 5, 15, 20, 35), events.get(0).getNewItems());
+    Assert.assertArrayEquals(new int[]{0, 1, 3, 5, 7}, events.get(0).getIndices());
+  }
+
+  @Test
+  public void manyAdditionsAreMergedIntoTheView() {
+    // Given:
+    ObservableCollection<Integer> source = ObservableCollectionFactory.createCollection();
+    source.addAll(Arrays.asList(10, 20, 30));
+    ObservableCollection<Integer> sorted = ObservableCollectionFactory.createCollection(source, Comparator.naturalOrder());
+    List<CollectionChangedEvent<Integer>> events = new ArrayList<>();
+    sorted.addListener(events::add);
+
+    // When:
+    source.addAll(Arrays.asList(35, 5, 20, 15, 0, 25, 40, 10, 45, 1));
+
+    // Then:
+    Assert.assertEquals(Arrays.asList(0, 1, 5, 10, 10, 15, 20, 20, 25, 30, 35, 40, 45), sorted);
+    Assert.assertEquals(1, events.size());
+    Assert.assertEquals(Arrays.asList(0, 1, 5, 10, 15, 20, 25, 35, 40, 45), events.get(0).getNewItems());
+    Assert.assertArrayEquals(new int[]{0, 1, 2, 4, 5, 7, 8, 10, 11, 12}, events.get(0).getIndices());
+  }
+
+  @Test
+  public void bulkRemovalsAreForwardedAsASingleEvent() {
+    // Given:
+    ObservableCollection<Integer> source = ObservableCollectionFactory.createCollection();
+    source.addAll(Arrays.asList(5, 3, 3, 1, 4, 2));
+    ObservableCollection<Integer> sorted = ObservableCollectionFactory.createCollection(source, Comparator.naturalOrder());
+    List<CollectionChangedEvent<Integer>> events = new ArrayList<>();
+    sorted.addListener(events::add);
+
+    // When:
+    source.removeIf(i -> i % 2 == 1);
+
+    // Then:
+    Assert.assertEquals(Arrays.asList(2, 4), sorted);
+    Assert.assertEquals(1, events.size());
+    Assert.assertEquals(ChangeType.REMOVE, events.get(0).getChangeType());
+    Assert.assertArrayEquals(new int[]{0, 2, 3, 5}, events.get(0).getIndices());
+    Assert.assertEquals(Arrays.asList(1, 3, 3, 5), events.get(0).getOldItems());
+  }
+
+  private static List<Integer> values(List<Price> prices) {
+    List<Integer> values = new ArrayList<>();
+    for (Price price : prices) {
+      values.add(price.getValue());
+    }
+    return values;
+  }
+
+  public static class Price extends DefaultNotifyPropertyChanged {
+    private int value;
+
+    public Price(int value) {
+      this.value = value;
+    }
+
+    public int getValue() {
+      return value;
+    }
+
+    public void setValue(int value) {
+      int old = this.value;
+      this.value = value;
+      firePropertyChange("value", old, value);
+    }
+  }
 }
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2020 Serge de Schaetzen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package net.sds.mvvm.processor;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import javax.swing.JTextField;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaCompiler.CompilationTask;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import net.sds.mvvm.bindings.Binder;
+import net.sds.mvvm.bindings.GeneratedBinder;
+import net.sds.mvvm.properties.Property;
+import net.sds.mvvm.properties.PropertyFactory;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BindProcessorTests {
+  @Test
+  public void aBinderIsGeneratedForAccessibleFields() throws IOException {
+    File dir = compile("a/View.java",
+        "package a;\n"
+            + "import javax.swing.JTextField;\n"
+            + "import net.sds.mvvm.bindings.Bind;\n"
+            + "public class View {\n"
+            + "  @Bind(value = \"text\", target = \"name.value\")\n"
+            + "  @Bind(value = \"editable\", target = \"edit.value\")\n"
+            + "  JTextField name = new JTextField();\n"
+            + "}\n");
+
+    File generated = new File(dir, "a/ViewBinder.java");
+    Assert.assertTrue(generated.exists());
+    String source = new String(Files.readAllBytes(generated.toPath()), StandardCharsets.UTF_8);
+    Assert.assertTrue(source.contains("extends GeneratedBinder<a.View>"));
+    Assert.assertTrue(source.contains("bindField(bindings, source.name, SOURCE_0"));
+    Assert.assertTrue(source.contains("{\"name\", \"value\"}"));
+    Assert.assertTrue(new File(dir, "a/ViewBinder.class").exists());
+  }
+
+  @Test
+  public void theGeneratedBinderIsUsedByTheBinder() throws Exception {
+    // Given: a class compiled with the processor.
+    File dir = compile("d/View.java",
+        "package d;\n"
+            + "import javax.swing.JTextField;\n"
+            + "import net.sds.mvvm.bindings.Bind;\n"
+            + "public class View {\n"
+            + "  @Bind(value = \"text\", target = \"name.value\")\n"
+            + "  public JTextField name = new JTextField();\n"
+            + "}\n");
+
+    // The class is compiled again without the annotation, so that the reflection fallback finds nothing to bind, and
+    // only the generated binder can create the binding.
+    compile(dir, "d/View.java",
+        "package d;\n"
+            + "import javax.swing.JTextField;\n"
+            + "public class View {\n"
+            + "  public JTextField name = new JTextField();\n"
+            + "}\n", false);
+
+    try (URLClassLoader loader = new URLClassLoader(new URL[] {dir.toURI().toURL()}, getClass().getClassLoader())) {
+      Class<?> viewClass = loader.loadClass("d.View");
+      Assert.assertTrue(GeneratedBinder.class.isAssignableFrom(loader.loadClass("d.ViewBinder")));
+      Object view = viewClass.getConstructor().newInstance();
+      ViewModel vm = new ViewModel();
+
+      // When:
+      Binder.bind(view, vm);
+      ((JTextField) viewClass.getField("name").get(view)).setText("a");
+
+      // Then:
+      Assert.assertEquals("a", vm.name.get());
+    }
+  }
+
+  @Test
+  public void delaysArePassedToTheBinding() throws IOException {
+    File dir = compile("c/View.java",
+        "package c;\n"
+            + "import javax.swing.JTextField;\n"
+            + "import net.sds.mvvm.bindings.Bind;\n"
+            + "public class View {\n"
+            + "  @Bind(value = \"text\", target = \"name.value\", debounceMs = 300)\n"
+            + "  JTextField name = new JTextField();\n"
+            + "}\n");
+
+    String source = new String(Files.readAllBytes(new File(dir, "c/ViewBinder.java").toPath()), StandardCharsets.UTF_8);
+    Assert.assertTrue(source.contains("BindingType.SOURCE_TO_TARGET, 300, 0);"));
+  }
+
+  @Test
+  public void noBinderIsGeneratedForPrivateFields() throws IOException {
+    File dir = compile("b/View.java",
+        "package b;\n"
+            + "import javax.swing.JTextField;\n"
+            + "import net.sds.mvvm.bindings.Bind;\n"
+            + "public class View {\n"
+            + "  @Bind(value = \"text\", target = \"name.value\")\n"
+            + "  private JTextField name = new JTextField();\n"
+            + "}\n");
+
+    Assert.assertFalse(new File(dir, "b/ViewBinder.java").exists());
+  }
+
+  private static class ViewModel {
+    private Property<String> name = PropertyFactory.createProperty("name", this, String.class);
+  }
+
+  private File compile(String name, String source) throws IOException {
+    File dir = Files.createTempDirectory("bind-processor").toFile();
+    compile(dir, name, source, true);
+    return dir;
+  }
+
+  private void compile(File dir, String name, String source, boolean process) throws IOException {
+    File file = new File(dir, name);
+    file.getParentFile().mkdirs();
+    Files.write(file.toPath(), source.getBytes(StandardCharsets.UTF_8));
+
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    try (StandardJavaFileManager fm = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+      fm.setLocation(StandardLocation.CLASS_OUTPUT, Arrays.asList(dir));
+      fm.setLocation(StandardLocation.SOURCE_OUTPUT, Arrays.asList(dir));
+      List<String> options = process
+          ? Arrays.asList("-classpath", System.getProperty("java.class.path"))
+          : Arrays.asList("-classpath", System.getProperty("java.class.path"), "-proc:none");
+      CompilationTask task = compiler.getTask(null, fm, diagnostics, options, null, fm.getJavaFileObjects(file));
+      if (process)
+        task.setProcessors(Arrays.asList(new BindProcessor()));
+      Assert.assertTrue(diagnostics.getDiagnostics().toString(), task.call());
+    }
+  }
+}
@@ -88,4 +88,109 @@ public class PropertyTests {
 
     Assert.assertEquals(property.getName(), events.get(0).getPropertyName());
   }
+
+  @Test
+  public void primitivePropertiesNotifyPrimitiveListeners() {
+    // Given:
+    IntProperty property = PropertyFactory.createIntProperty("test", this, 1);
+    List<String> changes = new ArrayList<>();
+    property.addIntChangeListener((p, oldValue, newValue) -> changes.add(oldValue + "->" + newValue));
+
+    // When:
+    property.setInt(2);
+    property.setInt(2);
+    property.set(null);
+
+    // Then:
+    Assert.assertEquals(2, changes.size());
+    Assert.assertEquals("1->2", changes.get(0));
+    Assert.assertEquals("2->0", changes.get(1));
+    Assert.assertEquals(Integer.valueOf(0), property.get());
+  }
+
+  @Test
+  public void primitivePropertiesAlsoFirePropertyChangeEvents() {
+    // Given:
+    DoubleProperty property = PropertyFactory.createDoubleProperty("test", this);
+    List<PropertyChangeEvent> events = new ArrayList<>();
+    property.addPropertyChangeListener("test", events::add);
+
+    // When:
+    property.setDouble(1.5);
+    property.setDouble(Double.NaN);
+    property.setDouble(Double.NaN);
+
+    // Then:
+    Assert.assertEquals(2, events.size());
+    Assert.assertEquals(1.5, (Double) events.get(0).getNewValue(), 0);
+  }
+
+  @Test
+  public void storedPropertiesShareTheNotifierOfTheirStore() {
+    // Given:
+    PropertyStore store = PropertyFactory.createPropertyStore(this, 2);
+    Property<String> name = store.createProperty("name", String.class, "a");
+    Property<Integer> age = store.createProperty("age", int.class);
+    Property<Boolean> active = store.createProperty("active", Boolean.class);
+    List<PropertyChangeEvent> events = new ArrayList<>();
+    name.addPropertyChangeListener(events::add);
+
+    // When:
+    age.set(3);
+    name.set("b");
+    active.set(true);
+
+    // Then:
+    Assert.assertEquals(1, events.size());
+    Assert.assertEquals("name", events.get(0).getPropertyName());
+    Assert.assertSame(this, events.get(0).getSource());
+    Assert.assertEquals("b", name.get());
+    Assert.assertEquals(Integer.valueOf(3), age.get());
+    Assert.assertTrue(active.get());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void storedPropertiesMustHaveUniqueNames() {
+    // Given:
+    PropertyStore store = PropertyFactory.createPropertyStore(this, 2);
+    store.createProperty("name", String.class);
+
+    // When:
+    store.createProperty("name", Integer.class);
+  }
+
+  @Test
+  public void computedPropertiesAreRecomputedLazily() {
+    // Given:
+    Property<Integer> a = PropertyFactory.createProperty("a", this, 2);
+    IntProperty b = PropertyFactory.createIntProperty("b", this, 3);
+    int[] computations = new int[1];
+    ComputedProperty<Integer> product = PropertyFactory.computed(() -> {
+      computations[0]++;
+      return a.get() * b.getInt();
+    });
+    ComputedProperty<String> text = PropertyFactory.computed("text", this, () -> "Product: " + product.get());
+    List<PropertyChangeEvent> events = new ArrayList<>();
+    text.addPropertyChangeListener(events::add);
+
+    // When/Then:
+    Assert.assertEquals("Product: 6", text.get());
+    Assert.assertEquals(1, computations[0]);
+
+    // When:
+    a.set(4);
+    b.setInt(5);
+
+    // Then:
+    Assert.assertEquals(1, events.size());
+    Assert.assertEquals(1, computations[0]);
+    Assert.assertEquals("Product: 20", text.get());
+    Assert.assertEquals(2, computations[0]);
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void computedPropertiesCannotBeSet() {
+    // When:
+    PropertyFactory.computed(() -> 1).set(2);
+  }
 }
@@ -18,6 +18,8 @@
 package net.sds.mvvm.triggers;
 
 import javax.swing.JTextField;
+import javax.swing.text.AbstractDocument;
+import net.sds.mvvm.bindings.Binding;
 import net.sds.mvvm.bindings.BindingBuilder;
 import net.sds.mvvm.bindings.BindingException;
 import net.sds.mvvm.properties.Property;
@@ -59,4 +61,24 @@ public class DocumentTextChangedTriggerTests {
     prop.set("Changed it");
     Assert.assertEquals("Changed it", field.getText());
   }
+
+  @Test
+  public void closingTheBindingRemovesTheListener() throws BindingException {
+    JTextField field = new JTextField();
+    AbstractDocument document = (AbstractDocument) field.getDocument();
+    int listeners = document.getDocumentListeners().length;
+    final StringBuilder b = new StringBuilder();
+    Binding binding = new BindingBuilder<String, String>()
+        .withSourceSupplier(field::getText)
+        .withSourceTrigger(new DocumentTextChangedTrigger(document))
+        .withTargetConsumer(b::append)
+        .build();
+    Assert.assertEquals(listeners + 1, document.getDocumentListeners().length);
+
+    binding.close();
+    field.setText("New text");
+
+    Assert.assertEquals(listeners, document.getDocumentListeners().length);
+    Assert.assertEquals("", b.toString());
+  }
 }
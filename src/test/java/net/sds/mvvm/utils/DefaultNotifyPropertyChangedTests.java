@@ -19,6 +19,8 @@ package net.sds.mvvm.utils;
 
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -75,4 +77,41 @@ public class DefaultNotifyPropertyChangedTests implements PropertyChangeListener
   public void propertyChange(PropertyChangeEvent evt) {
     this.event = evt;
   }
+
+  @Test
+  public void listenersAddedTwiceAreNotifiedTwice() {
+    // Given:
+    DefaultNotifyPropertyChanged prop = new DefaultNotifyPropertyChanged(this);
+    List<PropertyChangeEvent> events = new ArrayList<>();
+    PropertyChangeListener listener = events::add;
+    prop.addPropertyChangeListener("test", listener);
+    prop.addPropertyChangeListener("test", listener);
+
+    // When:
+    prop.firePropertyChange("test", "A", "B");
+    prop.removePropertyChangeListener("test", listener);
+    prop.firePropertyChange("test", "B", "C");
+
+    // Then:
+    Assert.assertEquals(3, events.size());
+    Assert.assertSame(events.get(0), events.get(1));
+    Assert.assertSame(this, events.get(0).getSource());
+  }
+
+  @Test
+  public void listenersCanBeRemovedWhileNotified() {
+    // Given:
+    DefaultNotifyPropertyChanged prop = new DefaultNotifyPropertyChanged(this);
+    List<PropertyChangeEvent> events = new ArrayList<>();
+    PropertyChangeListener second = events::add;
+    prop.addPropertyChangeListener(e -> prop.removePropertyChangeListener(second));
+    prop.addPropertyChangeListener(second);
+
+    // When:
+    prop.firePropertyChange("test", "A", "B");
+    prop.firePropertyChange("test", "B", "C");
+
+    // Then:
+    Assert.assertEquals(1, events.size());
+  }
 }
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2020 Serge de Schaetzen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package net.sds.mvvm.utils;
+
+import javax.swing.JComponent;
+import javax.swing.JLabel;
+import javax.swing.JTextField;
+import javax.swing.text.JTextComponent;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FactoryRegistryTests {
+  @Test
+  public void factoriesAreResolvedThroughTheClassHierarchy() {
+    FactoryRegistry<String> registry = new FactoryRegistry<>();
+    registry.register(JTextComponent.class, "text", "textComponent", -1);
+    registry.register(JComponent.class, null, "component", -1);
+
+    Assert.assertEquals("textComponent", registry.find(new JTextField(), "text"));
+    Assert.assertEquals("component", registry.find(new JTextField(), "enabled"));
+    Assert.assertEquals("component", registry.find(new JLabel(), "text"));
+    Assert.assertNull(registry.find("a string", "text"));
+  }
+
+  @Test
+  public void theIndexDefinesThePriority() {
+    FactoryRegistry<String> registry = new FactoryRegistry<>();
+    registry.register(JComponent.class, null, "component", -1);
+    Assert.assertEquals("component", registry.find(new JTextField(), "text"));
+
+    registry.register(JTextField.class, "text", "textField", 0);
+    Assert.assertEquals("textField", registry.find(new JTextField(), "text"));
+  }
+
+  @Test
+  public void predicatesAreTestedOnEveryLookup() {
+    FactoryRegistry<String> registry = new FactoryRegistry<>();
+    registry.register((o, p) -> !((JLabel) o).getText().isEmpty(), "predicate", -1);
+    registry.register(JLabel.class, null, "label", -1);
+
+    JLabel label = new JLabel();
+    Assert.assertEquals("label", registry.find(label, "text"));
+    label.setText("a");
+    Assert.assertEquals("predicate", registry.find(label, "text"));
+  }
+}
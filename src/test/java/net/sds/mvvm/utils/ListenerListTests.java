@@ -0,0 +1,65 @@
+/*
+ * Copyright 2020 Serge de Schaetzen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package net.sds.mvvm.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ListenerListTests {
+  @Test
+  public void listenersAreNotifiedInOrderAndOnlyOnce() {
+    // Given:
+    ListenerList<Consumer<String>> listeners = new ListenerList<>();
+    List<String> received = new ArrayList<>();
+    Consumer<String> first = s -> received.add("first " + s);
+    Consumer<String> second = s -> received.add("second " + s);
+    listeners.add(first);
+    listeners.add(second);
+
+    // When:
+    boolean added = listeners.add(first);
+    listeners.fire(Consumer::accept, "event");
+
+    // Then:
+    Assert.assertFalse(added);
+    Assert.assertEquals(Arrays.asList("first event", "second event"), received);
+  }
+
+  @Test
+  public void listenersCanBeRemovedDuringANotification() {
+    // Given:
+    ListenerList<Consumer<String>> listeners = new ListenerList<>();
+    List<String> received = new ArrayList<>();
+    Consumer<String> second = received::add;
+    listeners.add(s -> listeners.remove(second));
+    listeners.add(second);
+
+    // When:
+    listeners.fire(Consumer::accept, "a");
+    listeners.fire(Consumer::accept, "b");
+
+    // Then:
+    Assert.assertEquals(Arrays.asList("a"), received);
+    Assert.assertEquals(1, listeners.size());
+  }
+}
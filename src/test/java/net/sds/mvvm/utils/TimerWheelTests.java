@@ -0,0 +1,114 @@
+/*
+ * Copyright 2020 Serge de Schaetzen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package net.sds.mvvm.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TimerWheelTests {
+  private long time = 1000;
+  private final TimerWheel wheel = new TimerWheel(10, 8, () -> time);
+
+  @Test
+  public void aTimeoutRunsWhenDue() {
+    // Given:
+    List<String> runs = new ArrayList<>();
+    TimerWheel.Timeout timeout = new TimerWheel.Timeout(() -> runs.add("run"));
+    wheel.schedule(timeout, time + 25);
+
+    // When:
+    advanceTo(1020);
+
+    // Then:
+    Assert.assertTrue(runs.isEmpty());
+    Assert.assertTrue(timeout.isPending());
+    advanceTo(1030);
+    Assert.assertEquals(1, runs.size());
+    Assert.assertFalse(timeout.isPending());
+  }
+
+  @Test
+  public void aRescheduledTimeoutRunsOnceAtItsLastDeadline() {
+    // Given:
+    List<Long> runs = new ArrayList<>();
+    TimerWheel.Timeout timeout = new TimerWheel.Timeout(() -> runs.add(time));
+
+    // When: rescheduled every 10ms, for longer than the wheel turns.
+    for (int i = 0; i < 20; i++) {
+      wheel.schedule(timeout, time + 30);
+      advanceTo(time + 10);
+    }
+    advanceTo(time + 40);
+
+    // Then:
+    Assert.assertEquals(1, runs.size());
+    Assert.assertEquals(Long.valueOf(1220), runs.get(0));
+  }
+
+  @Test
+  public void aTimeoutCanBeMovedForward() {
+    List<String> runs = new ArrayList<>();
+    TimerWheel.Timeout timeout = new TimerWheel.Timeout(() -> runs.add("run"));
+    wheel.schedule(timeout, time + 500);
+    wheel.schedule(timeout, time + 10);
+
+    advanceTo(1010);
+
+    Assert.assertEquals(1, runs.size());
+  }
+
+  @Test
+  public void aCancelledTimeoutDoesNotRun() {
+    List<String> runs = new ArrayList<>();
+    TimerWheel.Timeout timeout = new TimerWheel.Timeout(() -> runs.add("run"));
+    wheel.schedule(timeout, time + 10);
+    wheel.cancel(timeout);
+
+    advanceTo(1100);
+
+    Assert.assertTrue(runs.isEmpty());
+    Assert.assertFalse(timeout.isPending());
+  }
+
+  @Test
+  public void dueTimeoutsRunAfterALongPause() {
+    List<String> runs = new ArrayList<>();
+    wheel.schedule(new TimerWheel.Timeout(() -> runs.add("a")), time + 10);
+    wheel.schedule(new TimerWheel.Timeout(() -> runs.add("b")), time + 300);
+    wheel.schedule(new TimerWheel.Timeout(() -> runs.add("c")), time + 5000);
+
+    // Jump over several turns of the wheel at once.
+    time += 1000;
+    wheel.advance();
+
+    Assert.assertEquals(2, runs.size());
+    Assert.assertTrue(runs.contains("a"));
+    Assert.assertTrue(runs.contains("b"));
+    advanceTo(time + 4000);
+    Assert.assertEquals(3, runs.size());
+  }
+
+  private void advanceTo(long t) {
+    while (time < t) {
+      time += 5;
+      wheel.advance();
+    }
+  }
+}